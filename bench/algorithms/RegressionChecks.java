@@ -0,0 +1,205 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Checks for bugs that were fixed, run from the IDE or with
+//   java -cp bin algorithms.RegressionChecks
+// Every check throws an AssertionError naming what failed; the run ends with "all checks passed".
+public class RegressionChecks {
+
+    public static void main(String[] args) throws Exception {
+        roundRobinBlocksPastIntSegments();
+        spillFileOfAnotherWorkloadIsAMiss();
+        importerSkipsByteOrderMark();
+        importerRejectsEmptyFieldsAndBareSigns();
+        whatIfMergesOnlyAfterTheEditedProcessIsAdmitted();
+        noIopsWhenCountingCylinders();
+        idleCoresStealQueuedWork();
+        System.out.println("all checks passed");
+    }
+
+    // 3 processes with a burst of 1e9 and a quantum of 1: the rounds are fast-forwarded into one
+    // block of 3e9 segments, more than an int counts
+    private static void roundRobinBlocksPastIntSegments() {
+        int burst = 1_000_000_000;
+        Workload workload = new Workload(new int[] {1, 2, 3}, new int[] {0, 0, 0}, new int[] {burst, burst, burst}, new int[] {0, 0, 0});
+        ScheduleResult result = new RRScheduler(1).simulate(workload);
+        Timeline timeline = result.getTimeline();
+
+        check(result.getMakespan() == 3L * burst, "makespan " + result.getMakespan());
+        long size = timeline.size();
+        check(size > Integer.MAX_VALUE, "segment count " + size);
+        check(timeline.indexAt(result.getMakespan() - 1) == size - 1, "indexAt of the last time unit");
+        check(timeline.getEndTime(size - 1) == result.getMakespan(), "end of the last segment");
+
+        // one segment per time unit, the pids cycle through the queue
+        long time = 2_500_000_000L;
+        long i = timeline.indexAt(time);
+        check(timeline.getStartTime(i) == time && timeline.getEndTime(i) == time + 1, "segment at " + time);
+        check(timeline.getPid(i) == 1 + time % 3, "pid at " + time);
+
+        // the exporters read in batches from such an index
+        int[] pids = new int[16];
+        long[] starts = new long[16];
+        long[] ends = new long[16];
+        check(timeline.read(i, pids, starts, ends, 16) == 16, "batch read");
+        for (int k = 0; k < 16; k++) check(starts[k] == time + k && pids[k] == timeline.getPid(i + k), "batch read at " + k);
+        check(timeline.read(size - 4, pids, starts, ends, 16) == 4, "batch read at the end");
+    }
+
+    // a spill file put under the name of another key must not be read back as that key's result
+    private static void spillFileOfAnotherWorkloadIsAMiss() throws IOException {
+        Path directory = Files.createTempDirectory("cache-check");
+        Scheduler scheduler = new RRScheduler(2);
+        Workload first = new Workload(new int[] {1, 2}, new int[] {0, 1}, new int[] {5, 3}, new int[] {0, 0});
+        Workload second = new Workload(new int[] {1, 2}, new int[] {0, 1}, new int[] {4, 3}, new int[] {0, 0});
+        String firstKey = ResultCache.key(scheduler, first);
+        String secondKey = ResultCache.key(scheduler, second);
+
+        // a memory of one byte spills every result
+        ResultCache cache = new ResultCache(1, directory, Long.MAX_VALUE);
+        cache.put(firstKey, scheduler.simulate(first));
+        check(cache.getSpillEntries() == 1, "result spilled");
+        Files.copy(directory.resolve(firstKey + ".result"), directory.resolve(secondKey + ".result"));
+        Files.write(directory.resolve("unrelated.result"), new byte[] {1, 2, 3});
+
+        ResultCache reopened = new ResultCache(1, directory, Long.MAX_VALUE);
+        check(reopened.getSpillEntries() == 2, "spill files indexed " + reopened.getSpillEntries());
+        check(reopened.get(secondKey, second) == null, "file of another workload read back");
+        check(reopened.get(firstKey, first) != null, "own file read back");
+    }
+
+    // spreadsheets save CSV with a UTF-8 byte order mark in front of the header
+    private static void importerSkipsByteOrderMark() throws IOException {
+        Path file = Files.createTempFile("bom", ".csv");
+        byte[] text = "pid,arrival,burst\n1,0,5\n2,1,3\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] bytes = new byte[3 + text.length];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, bytes, 3, text.length);
+        Files.write(file, bytes);
+        Workload workload = TraceImporter.readWorkloadCsv(file);
+        check(workload.size() == 2 && workload.getBurstTime(1) == 3, "rows after a byte order mark");
+        Files.delete(file);
+    }
+
+    // "1,,3" used to be read as the two fields 1 and 3, and a lone '-' as a number
+    private static void importerRejectsEmptyFieldsAndBareSigns() throws IOException {
+        rejected("1,,3\n", "Empty field at line 1, column 3");
+        rejected("1,0,5\n2,1,3,\n", "Empty field at line 2, column 7");
+        rejected(",1,2\n", "Empty field at line 1, column 1");
+        rejected("1, ,3\n", "Empty field at line 1, column 4");
+        rejected("1,-,3\n", "Sign without a number at line 1, column 3");
+        rejected("1,0,-", "Sign without a number at line 1, column 5");
+        rejected("1,0,5\n2,1,-\n", "Sign without a number at line 2, column 5");
+    }
+
+    private static void rejected(String csv, String message) throws IOException {
+        Path file = Files.createTempFile("rejected", ".csv");
+        Files.write(file, csv.getBytes(StandardCharsets.US_ASCII));
+        try {
+            TraceImporter.readDiskRequestsCsv(file);
+            check(false, "accepted " + csv.replace("\n", "\\n"));
+        } catch (IOException e) {
+            check(e.getMessage().equals(message), "\"" + e.getMessage() + "\" instead of \"" + message + "\"");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // the edited process arrived while a non-preemptive run or a switch was in progress, so it was
+    // not admitted yet at the next checkpoint; the update merged there and kept its old values
+    private static void whatIfMergesOnlyAfterTheEditedProcessIsAdmitted() {
+        Workload sjf = randomWorkload(1, 3000);
+        whatIfMatchesFreshRun((HeapPolicy) SchedulingPolicy.SJF, SwitchCost.NONE, sjf, 1197, sjf.getArrivalTime(1197), 10, sjf.getPriority(1197));
+        Workload priority = randomWorkload(2, 3000);
+        whatIfMatchesFreshRun((HeapPolicy) SchedulingPolicy.PREEMPTIVE_PRIORITY, new SwitchCost(5, 2), priority, 2448,
+            priority.getArrivalTime(2448), priority.getBurstTime(2448), 1);
+    }
+
+    private static void whatIfMatchesFreshRun(HeapPolicy policy, SwitchCost switchCost, Workload workload, int i, long arrivalTime, int burstTime, int priority) {
+        WhatIfSession session = new WhatIfSession(policy, switchCost);
+        session.simulate(workload, SimulationMonitor.NONE);
+        ScheduleResult updated = session.update(i, arrivalTime, burstTime, priority, SimulationMonitor.NONE);
+        ScheduleResult fresh = new PolicyScheduler(policy, switchCost).simulate(session.getWorkload());
+
+        String what = "what-if update of process " + i + " with " + session.getName();
+        check(updated.getContextSwitches() == fresh.getContextSwitches() && updated.getOverheadTime() == fresh.getOverheadTime(), what + ": switches");
+        check(updated.getTimeline().size() == fresh.getTimeline().size(), what + ": segments");
+        for (int p = 0; p < workload.size(); p++) {
+            check(updated.getCompletedTime(p) == fresh.getCompletedTime(p) && updated.getResponseTime(p) == fresh.getResponseTime(p),
+                what + ": completion of process " + p);
+        }
+    }
+
+    // arrivals about 80% busy, bursts in [1, 10] and priorities in [1, 8]
+    private static Workload randomWorkload(long seed, int count) {
+        Random random = new Random(seed);
+        int[] pid = new int[count];
+        int[] arrivalTime = new int[count];
+        int[] burstTime = new int[count];
+        int[] priority = new int[count];
+        for (int i = 0; i < count; i++) {
+            pid[i] = i + 1;
+            arrivalTime[i] = random.nextInt(count * 5);
+            burstTime[i] = 1 + random.nextInt(10);
+            priority[i] = 1 + random.nextInt(8);
+        }
+        return new Workload(pid, arrivalTime, burstTime, priority);
+    }
+
+    // the makespan of the textbook model is the head movement, not microseconds
+    private static void noIopsWhenCountingCylinders() {
+        int[] requests = {98, 183, 37, 122, 14, 124, 65, 67};
+        DiskScheduleResult cylinders = new SeekScheduler(SeekScheduler.Algorithm.C_LOOK).simulate(requests, 53, 200);
+        check(Double.isNaN(cylinders.getIops()), "IOPS under the cylinder model " + cylinders.getIops());
+        DiskScheduleResult timed = new SeekScheduler(SeekScheduler.Algorithm.C_LOOK, new DiskModel(1000, 150, 0.005, 7200, 100)).simulate(requests, 53, 200);
+        check(timed.getIops() > 0 && timed.getIops() < 1000, "IOPS of a 7200 RPM disk " + timed.getIops());
+    }
+
+    // with work stealing no core may sit idle while a process waits in the queue of another
+    private static void idleCoresStealQueuedWork() {
+        // one long process and ten short ones at once: the core without the long one runs out
+        // first while the rest of the short ones still queue behind it
+        int[] burst = {100, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1};
+        int[] pid = new int[burst.length];
+        for (int i = 0; i < burst.length; i++) pid[i] = i + 1;
+        Workload queued = new Workload(pid, new int[burst.length], burst, new int[burst.length]);
+        ScheduleResult result = new SmpScheduler((HeapPolicy) SchedulingPolicy.FCFS, 2, SmpScheduler.LoadBalancing.WORK_STEALING, 0).simulate(queued);
+        check(result.getMakespan() == 100, "makespan with stealing " + result.getMakespan());
+        noIdleCoreWhileWaiting(result, "two cores");
+
+        for (HeapPolicy policy : new HeapPolicy[] {(HeapPolicy) SchedulingPolicy.FCFS, (HeapPolicy) SchedulingPolicy.SJF}) {
+            for (int cores : new int[] {2, 3, 8}) {
+                Workload workload = randomWorkload(cores, 2000);
+                noIdleCoreWhileWaiting(new SmpScheduler(policy, cores, SmpScheduler.LoadBalancing.WORK_STEALING, 2).simulate(workload), policy.getName() + " on " + cores + " cores");
+            }
+        }
+    }
+
+    // non-preemptive runs, so a process only waits from its arrival until it first runs
+    private static void noIdleCoreWhileWaiting(ScheduleResult result, String what) {
+        Workload workload = result.getWorkload();
+        for (int core = 0; core < result.getCoreCount(); core++) {
+            Timeline lane = result.getTimeline(core);
+            for (long s = 0; s < lane.size(); s++) {
+                if (!lane.isIdle(s)) continue;
+                for (int p = 0; p < workload.size(); p++) {
+                    long arrival = workload.getArrivalTime(p);
+                    long firstRun = arrival + result.getResponseTime(p);
+                    check(firstRun == arrival || arrival >= lane.getEndTime(s) || firstRun <= lane.getStartTime(s),
+                        what + ": core " + core + " idle from " + lane.getStartTime(s) + " to " + lane.getEndTime(s) + " while process " + p + " waits");
+                }
+            }
+        }
+    }
+
+    static void check(boolean condition, String what) {
+        if (!condition) throw new AssertionError(what);
+    }
+}
@@ -0,0 +1,246 @@
+package algorithms;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Benchmark for every scheduling algorithm, run from the IDE, with bench/run.sh or with
+//   java -cp bin algorithms.SchedulerBenchmark [counts=10,1000] [tq=1,4] [warmup=3] [iterations=5] [only=Round Robin]
+// Each case reports throughput (simulations per second) and bytes allocated per simulation, the
+// warmup iterations apart from the measured ones. only= runs the cases whose name contains it, so
+// that each can get a JVM of its own; see bench/README.md.
+public class SchedulerBenchmark {
+    private static final long SEED = 42;
+    private static final long ITERATION_NANOS = 1_000_000_000L;
+    private static final int DISK_SIZE = 1 << 20;
+    // a 7200 RPM drive
+    private static final DiskModel DISK_MODEL = new DiskModel(1000, 150, 0.005, 7200, 100);
+    private static final int MEAN_BURST = 50;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // keeps the JIT from dropping the simulations
+    private static volatile long sink;
+
+    private int[] counts = {10, 1_000, 100_000, 1_000_000};
+    private int[] quanta = {1, 4, 16, 64};
+    private int warmup = 3;
+    private int iterations = 5;
+    private String only = "";
+
+    public static void main(String[] args) {
+        SchedulerBenchmark benchmark = new SchedulerBenchmark();
+        for (String arg : args) benchmark.parse(arg);
+        benchmark.runAll();
+    }
+
+    private void parse(String arg) {
+        int eq = arg.indexOf('=');
+        if (eq < 0) throw new IllegalArgumentException("Expected name=value but got " + arg);
+        String name = arg.substring(0, eq);
+        String value = arg.substring(eq + 1);
+        switch (name) {
+            case "counts": counts = parseList(value); break;
+            case "tq": quanta = parseList(value); break;
+            case "warmup": warmup = Integer.parseInt(value); break;
+            case "iterations": iterations = Integer.parseInt(value); break;
+            case "only": only = value; break;
+            default: throw new IllegalArgumentException("Unknown option " + name);
+        }
+    }
+
+    private static int[] parseList(String value) {
+        return Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+
+    private void runAll() {
+        System.out.printf("%-52s %10s %-12s %14s %16s %14s %16s%n", "Benchmark", "processes", "bursts", "warmup ops/s", "warmup bytes/op", "ops/s", "bytes/op");
+
+        List<Scheduler> schedulers = new ArrayList<>();
+        schedulers.add(new PPScheduler());
+        schedulers.add(new PolicyScheduler(SchedulingPolicy.FCFS));
+        schedulers.add(new PolicyScheduler(SchedulingPolicy.SJF));
+        schedulers.add(new PolicyScheduler(SchedulingPolicy.SRTF));
+        schedulers.add(new PolicyScheduler(SchedulingPolicy.PRIORITY));
+        schedulers.add(new PolicyScheduler(new MLFQPolicy(8, 16)));
+        schedulers.add(new PolicyScheduler(new AgingPolicy(100)));
+        schedulers.add(new SmpScheduler((HeapPolicy) SchedulingPolicy.SRTF, 64, SmpScheduler.LoadBalancing.WORK_STEALING, 5));
+        for (int tq : quanta) schedulers.add(new RRScheduler(tq));
+
+        WorkloadGenerator generator = new WorkloadGenerator(SEED, WorkloadGenerator.ArrivalProcess.POISSON, MEAN_BURST * 5 / 4.0,
+                WorkloadGenerator.Distribution.PARETO, MEAN_BURST, WorkloadGenerator.Distribution.UNIFORM, 10);
+
+        for (int count : counts) {
+            report("WorkloadGenerator", count, "pareto", () -> generator.generate(count).size());
+            // the same processes generated chunk by chunk, the schedule is only summed up and never held
+            for (int tq : quanta) {
+                RRScheduler streamed = new RRScheduler(tq);
+                report(streamed.getName() + " (streamed)", count, "pareto", () -> stream(streamed, generator.stream(count)));
+            }
+            for (Distribution distribution : Distribution.values()) {
+                Workload workload = generate(count, distribution);
+                for (Scheduler scheduler : schedulers) {
+                    report(scheduler.getName(), count, distribution.label, () -> {
+                        ScheduleResult result = scheduler.simulate(workload);
+                        return result.getCompletedTime(count - 1) + result.getTimeline().getTotalTime();
+                    });
+                }
+            }
+
+            if (Arrays.stream(ExportDialog.Format.values()).anyMatch(format -> selected("Export " + format))) {
+                ScheduleResult exported = new RRScheduler(1).simulate(generate(count, Distribution.UNIFORM));
+                for (ExportDialog.Format format : ExportDialog.Format.values()) {
+                    report("Export " + format, count, "uniform", () -> export(format, exported));
+                }
+            }
+
+            // the workload fingerprint is computed on the first run, a hit only hashes the key
+            Scheduler cached = new CachingScheduler(new RRScheduler(1), new ResultCache(Long.MAX_VALUE));
+            String cacheName = "ResultCache hit (" + cached.getName() + ")";
+            if (selected(cacheName)) {
+                Workload repeated = generate(count, Distribution.UNIFORM);
+                cached.simulate(repeated);
+                report(cacheName, count, "uniform", () -> cached.simulate(repeated).getMakespan());
+            }
+
+            int[] requests = generateRequests(count);
+            for (SeekScheduler.Algorithm algorithm : SeekScheduler.Algorithm.values()) {
+                SeekScheduler disk = new SeekScheduler(algorithm);
+                report(disk.getName(), count, "uniform", () -> disk.simulate(requests, DISK_SIZE / 2, DISK_SIZE).getTotalHeadMovement());
+            }
+            SeekScheduler timed = new SeekScheduler(SeekScheduler.Algorithm.C_LOOK, DISK_MODEL);
+            report(timed.getName() + " (timed)", count, "uniform", () -> timed.simulate(requests, DISK_SIZE / 2, DISK_SIZE).getMakespan());
+        }
+    }
+
+    private boolean selected(String name) {
+        return name.contains(only);
+    }
+
+    private void report(String name, int count, String distribution, Benchmark benchmark) {
+        if (!selected(name)) return;
+        double[] warm = average(benchmark, warmup);
+        double[] measured = average(benchmark, iterations);
+        System.out.printf("%-52s %10d %-12s %14s %16s %14.2f %16.0f%n", name, count, distribution,
+            warmup > 0 ? String.format("%.2f", warm[0]) : "-", warmup > 0 ? String.format("%.0f", warm[1]) : "-", measured[0], measured[1]);
+    }
+
+    // {ops per second, bytes allocated per op} averaged over the iterations
+    private static double[] average(Benchmark benchmark, int iterations) {
+        double opsPerSecond = 0;
+        double bytesPerOp = 0;
+        for (int i = 0; i < iterations; i++) {
+            double[] measurement = measure(benchmark);
+            opsPerSecond += measurement[0];
+            bytesPerOp += measurement[1];
+        }
+        return iterations == 0 ? new double[2] : new double[] {opsPerSecond / iterations, bytesPerOp / iterations};
+    }
+
+    // runs the benchmark for about one second, returns {ops per second, bytes allocated per op}
+    private static double[] measure(Benchmark benchmark) {
+        long ops = 0;
+        long startBytes = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += benchmark.run();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        long bytes = THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+        return new double[] {ops * 1e9 / elapsed, (double) bytes / ops};
+    }
+
+    // bytes written, the files are deleted again right away
+    private static long export(ExportDialog.Format format, ScheduleResult result) {
+        try {
+            Path directory = Files.createTempDirectory("export");
+            long bytes = 0;
+            for (Path file : ExportDialog.export(directory.resolve("benchmark"), format, result)) {
+                bytes += Files.size(file);
+                Files.delete(file);
+            }
+            Files.delete(directory);
+            return bytes;
+        } catch (Exception e) {
+            throw new IllegalStateException("Export failed", e);
+        }
+    }
+
+    // total turnaround time
+    private static long stream(RRScheduler scheduler, ArrivalStream arrivals) {
+        long[] turnaround = new long[1];
+        ScheduleSink summary = new ScheduleSink() {
+            @Override
+            public void segment(int pid, long startTime, long endTime) {
+            }
+
+            @Override
+            public void rounds(int[] pids, long startTime, int quantum, int overhead, int rounds) {
+            }
+
+            @Override
+            public void completed(int pid, long arrivalTime, int burstTime, long completedTime) {
+                turnaround[0] += completedTime - arrivalTime;
+            }
+        };
+        try {
+            scheduler.simulate(arrivals, summary, SimulationMonitor.NONE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Generated streams do not fail", e);
+        }
+        return turnaround[0];
+    }
+
+    private interface Benchmark {
+        long run();
+    }
+
+    private enum Distribution {
+        UNIFORM("uniform"),
+        HEAVY_TAILED("pareto");
+
+        final String label;
+
+        Distribution(String label) {
+            this.label = label;
+        }
+    }
+
+    // arrivals spread so the CPU is about 80% busy, bursts either uniform in [1, 99] or Pareto (alpha 1.5)
+    private static Workload generate(int count, Distribution distribution) {
+        Random random = new Random(SEED);
+        int[] pid = new int[count];
+        int[] arrivalTime = new int[count];
+        int[] burstTime = new int[count];
+        int[] priority = new int[count];
+        int horizon = (int) Math.min(Integer.MAX_VALUE / 4, (long) count * MEAN_BURST * 5 / 4);
+
+        for (int i = 0; i < count; i++) {
+            pid[i] = i + 1;
+            arrivalTime[i] = random.nextInt(horizon);
+            if (distribution == Distribution.UNIFORM) {
+                burstTime[i] = 1 + random.nextInt(2 * MEAN_BURST - 1);
+            } else {
+                double pareto = (MEAN_BURST / 3.0) / Math.pow(1 - random.nextDouble(), 1 / 1.5);
+                burstTime[i] = (int) Math.min(1_000_000, Math.max(1, pareto));
+            }
+            priority[i] = 1 + random.nextInt(10);
+        }
+        return new Workload(pid, arrivalTime, burstTime, priority);
+    }
+
+    private static int[] generateRequests(int count) {
+        Random random = new Random(SEED);
+        int[] requests = new int[count];
+        for (int i = 0; i < count; i++) requests[i] = random.nextInt(DISK_SIZE);
+        return requests;
+    }
+}
@@ -0,0 +1,10 @@
+#!/bin/sh
+# Compiles src and bench into bin, runs the regression checks and then the benchmark; the
+# arguments go to SchedulerBenchmark and JAVA_OPTS to the JVM, e.g.
+#   JAVA_OPTS=-Xmx8g bench/run.sh counts=1000,100000 tq=4 warmup=3 iterations=5
+set -e
+cd "$(dirname "$0")/.."
+mkdir -p bin
+javac -d bin src/algorithms/*.java bench/algorithms/*.java
+java $JAVA_OPTS -cp bin algorithms.RegressionChecks
+java $JAVA_OPTS -cp bin algorithms.SchedulerBenchmark "$@"
@@ -0,0 +1,95 @@
+package algorithms;
+
+// Preemptive priority with aging: a waiting process gains one priority level for every
+// boundary of agingInterval it waits across. Counting boundaries instead of exact waited
+// time makes the effective priority at time t equal to key - t / agingInterval, with the
+// same t for every waiting process, so the heap order never changes while they wait and
+// nothing has to be rescanned. The boost is kept when the process gets the CPU, and the
+// running process gets a time slice that ends at the first boundary where the best
+// waiting process could overtake it.
+public class AgingPolicy implements SchedulingPolicy {
+    private final int agingInterval;
+
+    public AgingPolicy(int agingInterval) {
+        if (agingInterval < 1) throw new IllegalArgumentException("Aging interval must be at least 1: " + agingInterval);
+        this.agingInterval = agingInterval;
+    }
+
+    public int getAgingInterval() {
+        return agingInterval;
+    }
+
+    @Override
+    public String getName() {
+        return "Preemptive Priority (Aging = " + agingInterval + ")";
+    }
+
+    @Override
+    public String getCacheKey() {
+        return "aging " + agingInterval;
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return true;
+    }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable table) {
+        return new Queue(table);
+    }
+
+    private class Queue implements ReadyQueue {
+        private final ProcessTable table;
+        // priority - boost + enqueue time / agingInterval, while the process waits
+        private final long[] key;
+        private final long[] boost;
+        private final IntHeap heap;
+
+        Queue(ProcessTable table) {
+            this.table = table;
+            this.key = new long[table.size()];
+            this.boost = new long[table.size()];
+            // same tie-breaking as Preemptive Priority: arrival time, remaining burst time, pid
+            this.heap = new IntHeap((a, b) -> {
+                if (key[a] != key[b]) return Long.compare(key[a], key[b]);
+                if (table.getArrivalTime(a) != table.getArrivalTime(b)) return Long.compare(table.getArrivalTime(a), table.getArrivalTime(b));
+                if (table.remaining[a] != table.remaining[b]) return Integer.compare(table.remaining[a], table.remaining[b]);
+                return Integer.compare(table.getPid(a), table.getPid(b));
+            });
+        }
+
+        @Override
+        public void add(int p, long now) {
+            key[p] = table.getPriority(p) - boost[p] + now / agingInterval;
+            heap.add(p);
+        }
+
+        @Override
+        public int poll(long now) {
+            int p = heap.poll();
+            // levels gained while waiting
+            boost[p] = table.getPriority(p) - (key[p] - now / agingInterval);
+            return p;
+        }
+
+        @Override
+        public int sliceFor(int p, long now) {
+            if (heap.isEmpty()) return Integer.MAX_VALUE;
+            // the waiting process is level with p once now / agingInterval reaches key - running priority
+            long level = key[heap.peek()] - (table.getPriority(p) - boost[p]);
+            long boundary = Math.max(level, now / agingInterval + 1);
+            return (int) Math.min(boundary * agingInterval - now, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        @Override
+        public int[] toArray() {
+            return heap.toArray();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs every CPU scheduler on the same workload at once and shows their Gantt charts one above
+// the other with a table of their metrics.
+public class AlgorithmComparison implements OperatingSystemAlgorithm {
+
+    private final Color[] ganttColors = {
+        Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE,
+        Color.MAGENTA, Color.CYAN, Color.PINK, Color.YELLOW
+    };
+
+    @Override
+    public String getInstructions() {
+        return "<html><b>Compare Algorithms</b><br><br>"
+                + "Enter one workload and it runs on FCFS, SJF, SRTF, Priority, Preemptive Priority,<br>"
+                + "Round Robin and MLFQ in parallel. The results are shown side by side.<br><br>"
+                + "<b>Do you want to continue?</b></html>";
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Inputs
+            Path file = null;
+            GeneratorDialog generator = null;
+            Workload workload = null;
+            TraceFileChooser.Source source = TraceFileChooser.askSource("Compare Algorithms");
+            if (source == null) return;
+            if (source == TraceFileChooser.Source.IMPORT) {
+                file = TraceFileChooser.choose(null);
+                if (file == null) return;
+            } else if (source == TraceFileChooser.Source.GENERATE) {
+                generator = GeneratorDialog.prompt("Compare Algorithms");
+                if (generator == null) return;
+            } else {
+                workload = MultiCoreScheduling.promptWorkload();
+                if (workload == null) return;
+            }
+
+            String tqString = JOptionPane.showInputDialog(null, "Enter Time Quantum for Round Robin and the first MLFQ level: ");
+            if (tqString == null) return;
+            int tq = Integer.parseInt(tqString.trim());
+
+            String costString = JOptionPane.showInputDialog(null, "Context switch cost and cache reload penalty (e.g. 1, 2; leave blank for none):");
+            if (costString == null) return;
+            SwitchCost switchCost = SwitchCost.parse(costString);
+
+            // Logic, the import or generation and the simulations run in the background
+            String[] labels = {"FCFS", "SJF", "SRTF", "Priority", "PP", "RR", "MLFQ"};
+            List<Scheduler> schedulers = new ArrayList<>();
+            schedulers.add(new PolicyScheduler(SchedulingPolicy.FCFS, switchCost));
+            schedulers.add(new PolicyScheduler(SchedulingPolicy.SJF, switchCost));
+            schedulers.add(new PolicyScheduler(SchedulingPolicy.SRTF, switchCost));
+            schedulers.add(new PolicyScheduler(SchedulingPolicy.PRIORITY, switchCost));
+            schedulers.add(new PPScheduler(switchCost));
+            schedulers.add(new RRScheduler(tq, switchCost));
+            schedulers.add(new PolicyScheduler(new MLFQPolicy(tq, 2 * tq, 4 * tq), switchCost));
+
+            Path traceFile = file;
+            Workload typedWorkload = workload;
+            GeneratorDialog generated = generator;
+            SimulationWorker.start("Compare Algorithms", monitor -> {
+                Workload processes = traceFile != null ? TraceImporter.readWorkload(traceFile)
+                        : generated != null ? generated.generate() : typedWorkload;
+                List<Scheduler> cached = new ArrayList<>();
+                for (Scheduler scheduler : schedulers) cached.add(new CachingScheduler(scheduler, ResultCache.shared()));
+                return new SweepRunner().compare(processes, cached, monitor);
+            }, results -> showResult(labels, schedulers, results));
+
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage());
+        }
+    }
+
+    private void showResult(String[] labels, List<Scheduler> schedulers, List<ScheduleResult> results) {
+        JFrame frame = new JFrame("Algorithm Comparison");
+        frame.setSize(1100, 700);
+        frame.setLocationRelativeTo(null);
+        frame.setLayout(new BorderLayout());
+
+        String[] header = {"Algorithm", "Avg Turnaround", "Avg Waiting", "Avg Response", "p99 Waiting", "Max Waiting", "Throughput", "Context Switches", "Makespan"};
+        DefaultTableModel model = new DefaultTableModel(header, 0) {
+            @Override
+            public boolean isCellEditable(int row, int col) {
+                return false;
+            }
+        };
+        Timeline[] lanes = new Timeline[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            ScheduleResult result = results.get(i);
+            lanes[i] = result.getTimeline();
+            model.addRow(new Object[] {
+                labels[i] + " - " + schedulers.get(i).getName(),
+                String.format("%.2f", result.getAverageTurnAroundTime()),
+                String.format("%.2f", result.getAverageWaitingTime()),
+                String.format("%.2f", result.getAverageResponseTime()),
+                result.getWaitingHistogram().getValueAtPercentile(99),
+                result.getWaitingHistogram().getMax(),
+                String.format("%.4f", result.getThroughput()),
+                result.getContextSwitches(),
+                result.getMakespan()
+            });
+        }
+
+        JTable table = new JTable(model);
+        table.setRowHeight(25);
+        table.getColumnModel().getColumn(0).setPreferredWidth(300);
+        JScrollPane tableScroll = new JScrollPane(table);
+        tableScroll.setPreferredSize(new Dimension(1000, 230));
+        tableScroll.setBorder(BorderFactory.createTitledBorder("Metrics"));
+
+        JScrollPane laneScroll = new MultiLaneGanttPanel(lanes, labels, ganttColors).createScrollPane();
+        laneScroll.setBorder(BorderFactory.createTitledBorder("Gantt Chart per Algorithm"));
+
+        frame.add(tableScroll, BorderLayout.NORTH);
+        frame.add(laneScroll, BorderLayout.CENTER);
+        frame.setVisible(true);
+    }
+}
@@ -0,0 +1,26 @@
+package algorithms;
+
+import java.io.IOException;
+
+// Cursor over processes in arrival order, so a trace never has to be loaded whole.
+public interface ArrivalStream {
+    // moves to the next process, false once the stream is exhausted
+    boolean next() throws IOException;
+
+    int getPid();
+
+    long getArrivalTime();
+
+    int getBurstTime();
+
+    int getPriority();
+
+    // number of processes in the stream, -1 if it is not known in advance
+    default long getCount() {
+        return -1;
+    }
+
+    static ArrivalStream of(Workload workload) {
+        return new WorkloadArrivalStream(workload);
+    }
+}
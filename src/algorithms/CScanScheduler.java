@@ -0,0 +1,14 @@
+package algorithms;
+
+// C-SCAN disk scheduling, the head services requests while moving towards the last cylinder,
+// then returns to cylinder 0 without servicing anything and continues upwards.
+public class CScanScheduler extends SeekScheduler {
+
+    public CScanScheduler() {
+        super(Algorithm.C_SCAN);
+    }
+
+    public CScanScheduler(DiskModel model) {
+        super(Algorithm.C_SCAN, model);
+    }
+}
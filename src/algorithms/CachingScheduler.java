@@ -0,0 +1,42 @@
+package algorithms;
+
+// Scheduler that looks its results up in a ResultCache first and stores the ones it had to
+// simulate. Schedulers without a cache key are simply run.
+public class CachingScheduler implements Scheduler {
+    private final Scheduler scheduler;
+    private final ResultCache cache;
+
+    public CachingScheduler(Scheduler scheduler, ResultCache cache) {
+        this.scheduler = scheduler;
+        this.cache = cache;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public String getName() {
+        return scheduler.getName();
+    }
+
+    @Override
+    public String getCacheKey() {
+        return scheduler.getCacheKey();
+    }
+
+    @Override
+    public ScheduleResult simulate(Workload workload, SimulationMonitor monitor) {
+        String key = ResultCache.key(scheduler, workload);
+        if (key == null) return scheduler.simulate(workload, monitor);
+        ScheduleResult result = cache.get(key, workload);
+        if (result != null) return result;
+        result = scheduler.simulate(workload, monitor);
+        cache.put(key, result);
+        return result;
+    }
+}
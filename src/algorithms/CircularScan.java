@@ -1,18 +1,173 @@
 package algorithms;
-import javax.swing.JTextArea;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.nio.file.Path;
+
 //Laraze
 public class CircularScan implements OperatingSystemAlgorithm {
 
     @Override
     public String getInstructions() {
-        return "<html><b>C-SCAN Disk Scheduling</b><br><br>"
-             + "The disk arm moves from one end to the other, servicing<br>"
+        return "<html><b>Disk Scheduling</b><br><br>"
+             + "Choose FCFS, SSTF, SCAN, LOOK, C-SCAN or C-LOOK.<br>"
+             + "With C-SCAN the disk arm moves from one end to the other, servicing<br>"
              + "requests. When it reaches the end, it immediately returns<br>"
-             + "to the beginning without servicing any requests on the way back.<br><br>"
+             + "to the beginning without servicing any requests on the way back.<br>"
+             + "Requests may also arrive while the arm is moving.<br>"
+             + "Times are in cylinders moved, or in microseconds with a disk model of<br>"
+             + "seek curve, rotation speed and transfer time.<br><br>"
              + "<b>Do you want to continue?</b></html>";
     }
 
     @Override
     public void run() {
+        try {
+            // Inputs
+            SeekScheduler.Algorithm algorithm = (SeekScheduler.Algorithm) JOptionPane.showInputDialog(null, "Disk scheduling algorithm:", "Disk Scheduling",
+                    JOptionPane.QUESTION_MESSAGE, null, SeekScheduler.Algorithm.values(), SeekScheduler.Algorithm.C_SCAN);
+            if (algorithm == null) return;
+
+            String modelString = JOptionPane.showInputDialog(null, "Disk model: settle time, sqrt and linear seek factors (us), RPM, transfer time (us)\n"
+                    + "(e.g. 1000, 150, 0.5, 7200, 100; leave blank for 1 time unit per cylinder):");
+            if (modelString == null) return;
+            SeekScheduler scheduler = new SeekScheduler(algorithm, DiskModel.parse(modelString));
+
+            Path file = null;
+            if (TraceFileChooser.askImport(scheduler.getName())) {
+                file = TraceFileChooser.choose(null);
+                if (file == null) return;
+            }
+
+            String sizeString = JOptionPane.showInputDialog(null, "Enter Disk Size (number of cylinders, e.g. 200): ");
+            if (sizeString == null) return;
+            int diskSize = Integer.parseInt(sizeString.trim());
+
+            String headString = JOptionPane.showInputDialog(null, "Enter Initial Head Position: ");
+            if (headString == null) return;
+            int head = Integer.parseInt(headString.trim());
+
+            DiskWorkload requests = null;
+            if (file == null) {
+                String requestString = JOptionPane.showInputDialog(null, "Enter Request Queue (e.g. 98, 183, 37, 122): ");
+                if (requestString == null) return;
+                int[] cylinders = parseRequests(requestString);
+
+                String arrivalString = JOptionPane.showInputDialog(null, "Enter Arrival Time of every request (leave blank if all arrive at 0): ");
+                if (arrivalString == null) return;
+                if (arrivalString.trim().isEmpty()) {
+                    requests = DiskWorkload.atTimeZero(cylinders);
+                } else {
+                    requests = new DiskWorkload(cylinders, parseRequests(arrivalString));
+                }
+            }
+
+            // Logic, the import and the simulation run in the background
+            Path traceFile = file;
+            DiskWorkload typedRequests = requests;
+            SimulationWorker.start(scheduler.getName(), monitor -> {
+                DiskWorkload queue = traceFile != null ? DiskWorkload.atTimeZero(TraceImporter.readDiskRequests(traceFile)) : typedRequests;
+                return scheduler.simulate(queue, head, diskSize, monitor);
+            }, result -> showResult(scheduler, result));
+
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage());
+        }
+    }
+
+    private int[] parseRequests(String text) {
+        String[] parts = text.trim().split("[,\\s]+");
+        if (parts.length == 1 && parts[0].isEmpty()) throw new IllegalArgumentException("Please enter at least one request");
+
+        int[] requests = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            requests[i] = Integer.parseInt(parts[i]);
+        }
+        return requests;
+    }
+
+    private void showResult(DiskScheduler scheduler, DiskScheduleResult result) {
+        JFrame frame = new JFrame(scheduler.getName() + " Results");
+        frame.setSize(900, 650);
+        frame.setLocationRelativeTo(null);
+        frame.setLayout(new BorderLayout());
+
+        // Table
+        String[] col = {"Order", "Cylinder", "Arrival", "Seek Distance", "Completion", "Latency"};
+        JTable table = new JTable(new AbstractTableModel() {
+            @Override
+            public int getRowCount() {
+                return result.getRequestCount();
+            }
+
+            @Override
+            public int getColumnCount() {
+                return col.length;
+            }
+
+            @Override
+            public String getColumnName(int c) {
+                return col[c];
+            }
+
+            @Override
+            public Object getValueAt(int row, int c) {
+                switch (c) {
+                    case 0: return row + 1;
+                    case 1: return result.getCylinder(row);
+                    case 2: return result.getArrivalTime(row);
+                    case 3: return result.getSeekDistance(row);
+                    case 4: return result.getCompletionTime(row);
+                    default: return result.getLatency(row);
+                }
+            }
+        });
+        table.setRowHeight(25);
+        DefaultTableCellRenderer center = new DefaultTableCellRenderer();
+        center.setHorizontalAlignment(JLabel.CENTER);
+
+        for (int i = 0; i < col.length; i++) table.getColumnModel().getColumn(i).setCellRenderer(center);
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setPreferredSize(new Dimension(800, 200));
+        scroll.setBorder(BorderFactory.createTitledBorder("Seek Order (Head = " + result.getHeadPosition() + ")"));
+
+        HeadMovementChartPanel chartPanel = new HeadMovementChartPanel(result);
+        chartPanel.setBorder(BorderFactory.createTitledBorder("Head Movement (" + result.getModel() + ")"));
+
+        // Footer
+        JPanel footer = new JPanel(new FlowLayout(FlowLayout.CENTER, 50, 10));
+        footer.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        String unit = result.getModel().isCylinderUnits() ? "cylinders" : "us";
+        JLabel total = new JLabel("Total Head Movement: " + result.getTotalHeadMovement() + " cylinders");
+        total.setFont(new Font("SansSerif", Font.BOLD, 16));
+        total.setForeground(new Color(0, 102, 204));
+
+        JLabel avg = new JLabel(String.format("Average Latency: %.2f %s", result.getAverageLatency(), unit));
+        avg.setFont(new Font("SansSerif", Font.BOLD, 16));
+        avg.setForeground(new Color(204, 51, 0));
+
+        JLabel percentiles = new JLabel("p50 / p99 Latency: " + result.getLatencyPercentile(50) + " / " + result.getLatencyPercentile(99) + " " + unit);
+        percentiles.setFont(new Font("SansSerif", Font.BOLD, 16));
+        percentiles.setForeground(new Color(204, 51, 0));
+
+        footer.add(total);
+        footer.add(avg);
+        footer.add(percentiles);
+        if (!result.getModel().isCylinderUnits()) {
+            JLabel iops = new JLabel(String.format("IOPS: %.1f", result.getIops()));
+            iops.setFont(new Font("SansSerif", Font.BOLD, 16));
+            iops.setForeground(new Color(0, 102, 204));
+            footer.add(iops);
+        }
+
+        frame.add(scroll, BorderLayout.NORTH);
+        frame.add(chartPanel, BorderLayout.CENTER);
+        frame.add(footer, BorderLayout.SOUTH);
+        frame.setVisible(true);
     }
 }
@@ -0,0 +1,113 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// Reads "pid,arrival,burst[,priority]" lines that are already sorted by arrival time.
+// Blank lines and lines starting with '#' or a letter (a header) are skipped.
+// The fields are parsed in place from a reused char buffer, no String is created per line.
+public class CsvArrivalStream implements ArrivalStream {
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private final long[] fields = new long[4];
+    private int lineNumber;
+    private int pid;
+    private long arrivalTime = -1;
+    private int burstTime;
+    private int priority;
+
+    public CsvArrivalStream(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            lineNumber++;
+            c = skipBlanks(c);
+            if (c == '\n') continue;
+            if (c == -1) return false;
+            if (c == '#' || Character.isLetter(c)) {
+                while (c != '\n' && c != -1) c = read();
+                continue;
+            }
+
+            int count = 0;
+            while (true) {
+                boolean negative = c == '-';
+                if (negative) c = read();
+                if (c < '0' || c > '9') throw new IOException("Invalid number at line " + lineNumber);
+                long value = 0;
+                do {
+                    if (value > (Long.MAX_VALUE - 9) / 10) throw new IOException("Number too large at line " + lineNumber);
+                    value = value * 10 + (c - '0');
+                    c = read();
+                } while (c >= '0' && c <= '9');
+                if (count < fields.length) fields[count] = negative ? -value : value;
+                count++;
+
+                c = skipBlanks(c);
+                if (c == '\n' || c == -1) break;
+                if (c != ',') throw new IOException("Unexpected character '" + (char) c + "' at line " + lineNumber);
+                c = skipBlanks(read());
+            }
+            if (count < 3) throw new IOException("Expected pid,arrival,burst at line " + lineNumber);
+
+            long previousArrival = arrivalTime;
+            pid = toInt(fields[0]);
+            arrivalTime = fields[1];
+            burstTime = toInt(fields[2]);
+            priority = count > 3 ? toInt(fields[3]) : 0;
+
+            if (arrivalTime < 0 || burstTime < 1) throw new IOException("Invalid arrival or burst time at line " + lineNumber);
+            if (arrivalTime < previousArrival) throw new IOException("Arrivals are not sorted by arrival time at line " + lineNumber);
+            return true;
+        }
+        return false;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private int skipBlanks(int c) throws IOException {
+        while (c == ' ' || c == '\t' || c == '\r') c = read();
+        return c;
+    }
+
+    private int toInt(long value) throws IOException {
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) throw new IOException("Number out of range at line " + lineNumber);
+        return (int) value;
+    }
+
+    @Override
+    public int getPid() {
+        return pid;
+    }
+
+    @Override
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    @Override
+    public int getBurstTime() {
+        return burstTime;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
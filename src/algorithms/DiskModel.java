@@ -0,0 +1,86 @@
+package algorithms;
+
+// Service time model of a hard disk in microseconds. A seek over d > 0 cylinders takes
+// settleTime + sqrtPerCylinder * sqrt(d) + perCylinder * d, the short seeks being dominated by
+// the acceleration of the arm and the long ones by its top speed. Every request then waits for
+// its sector, half a rotation on average, and for its transfer.
+//
+// CYLINDERS is the plain textbook model, one time unit per cylinder and nothing else.
+public class DiskModel {
+    public static final DiskModel CYLINDERS = new DiskModel(0, 0, 1, 0, 0);
+
+    private static final double MICROS_PER_MINUTE = 60e6;
+
+    private final double settleTime;
+    private final double sqrtPerCylinder;
+    private final double perCylinder;
+    private final int rpm;
+    private final double transferTime;
+
+    // rpm 0 for no rotational latency
+    public DiskModel(double settleTime, double sqrtPerCylinder, double perCylinder, int rpm, double transferTime) {
+        if (settleTime < 0 || sqrtPerCylinder < 0 || perCylinder < 0 || rpm < 0 || transferTime < 0) {
+            throw new IllegalArgumentException("Disk model parameters cannot be negative");
+        }
+        this.settleTime = settleTime;
+        this.sqrtPerCylinder = sqrtPerCylinder;
+        this.perCylinder = perCylinder;
+        this.rpm = rpm;
+        this.transferTime = transferTime;
+    }
+
+    // "settle, sqrt, linear, rpm, transfer" as typed in the dialogs, blank for CYLINDERS
+    public static DiskModel parse(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) return CYLINDERS;
+        String[] parts = trimmed.split("[,\\s]+");
+        if (parts.length != 5) throw new IllegalArgumentException("Expected settle time, sqrt and linear seek factors, RPM and transfer time: " + text);
+        return new DiskModel(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                Integer.parseInt(parts[3]), Double.parseDouble(parts[4]));
+    }
+
+    public double getSettleTime() {
+        return settleTime;
+    }
+
+    public double getSqrtPerCylinder() {
+        return sqrtPerCylinder;
+    }
+
+    public double getPerCylinder() {
+        return perCylinder;
+    }
+
+    public int getRpm() {
+        return rpm;
+    }
+
+    public double getTransferTime() {
+        return transferTime;
+    }
+
+    // one time unit per cylinder, the head position is known at every moment of a seek
+    public boolean isCylinderUnits() {
+        return settleTime == 0 && sqrtPerCylinder == 0 && perCylinder == 1 && rpm == 0 && transferTime == 0;
+    }
+
+    public long seekTime(long distance) {
+        if (distance == 0) return 0;
+        return Math.round(settleTime + sqrtPerCylinder * Math.sqrt(distance) + perCylinder * distance);
+    }
+
+    public long rotationalLatency() {
+        return rpm == 0 ? 0 : Math.round(MICROS_PER_MINUTE / rpm / 2);
+    }
+
+    // time at the cylinder for one request, the wait for its sector and its transfer
+    public long serviceTime() {
+        return rotationalLatency() + Math.round(transferTime);
+    }
+
+    @Override
+    public String toString() {
+        if (isCylinderUnits()) return "1 unit per cylinder";
+        return String.format("seek %.0f + %.1f*sqrt(d) + %.2f*d us, %d RPM, transfer %.0f us", settleTime, sqrtPerCylinder, perCylinder, rpm, transferTime);
+    }
+}
@@ -0,0 +1,146 @@
+package algorithms;
+
+// Outcome of one disk scheduling run. The requests are listed in the order they were serviced,
+// the head path has a point wherever the head stopped, turned or jumped.
+public class DiskScheduleResult {
+    private final DiskWorkload requests;
+    // the unit of every time below
+    private final DiskModel model;
+    private final int headPosition;
+    private final int diskSize;
+    // request indices in service order
+    private final int[] serviceOrder;
+    private final long[] completionTime;
+    // head movement since the previous service, including moves to the disk ends and jumps
+    private final long[] seekDistance;
+    private final long totalHeadMovement;
+    // time and cylinder of every point of the head path, jump when the head got there by a return jump
+    private final long[] pathTime;
+    private final int[] pathCylinder;
+    private final boolean[] pathJump;
+    // built on first use
+    private LatencyHistogram latencyHistogram;
+
+    public DiskScheduleResult(DiskWorkload requests, DiskModel model, int headPosition, int diskSize, int[] serviceOrder, long[] completionTime,
+                              long[] seekDistance, long[] pathTime, int[] pathCylinder, boolean[] pathJump) {
+        this.requests = requests;
+        this.model = model;
+        this.headPosition = headPosition;
+        this.diskSize = diskSize;
+        this.serviceOrder = serviceOrder;
+        this.completionTime = completionTime;
+        this.seekDistance = seekDistance;
+        this.pathTime = pathTime;
+        this.pathCylinder = pathCylinder;
+        this.pathJump = pathJump;
+
+        long total = 0;
+        for (long seek : seekDistance) total += seek;
+        this.totalHeadMovement = total;
+    }
+
+    public DiskWorkload getRequests() {
+        return requests;
+    }
+
+    public DiskModel getModel() {
+        return model;
+    }
+
+    public int getHeadPosition() {
+        return headPosition;
+    }
+
+    public int getDiskSize() {
+        return diskSize;
+    }
+
+    public int getRequestCount() {
+        return serviceOrder.length;
+    }
+
+    // index in the workload of the request serviced i-th
+    public int getRequest(int i) {
+        return serviceOrder[i];
+    }
+
+    public int getCylinder(int i) {
+        return requests.getCylinder(serviceOrder[i]);
+    }
+
+    public int getArrivalTime(int i) {
+        return requests.getArrivalTime(serviceOrder[i]);
+    }
+
+    public long getCompletionTime(int i) {
+        return completionTime[i];
+    }
+
+    // time from the arrival of the request until it was serviced
+    public long getLatency(int i) {
+        return completionTime[i] - getArrivalTime(i);
+    }
+
+    public long getSeekDistance(int i) {
+        return seekDistance[i];
+    }
+
+    public long getTotalHeadMovement() {
+        return totalHeadMovement;
+    }
+
+    public double getAverageLatency() {
+        if (serviceOrder.length == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < serviceOrder.length; i++) total += getLatency(i);
+        return (double) total / serviceOrder.length;
+    }
+
+    public synchronized LatencyHistogram getLatencyHistogram() {
+        if (latencyHistogram == null) {
+            latencyHistogram = new LatencyHistogram();
+            for (int i = 0; i < serviceOrder.length; i++) latencyHistogram.record(getLatency(i));
+        }
+        return latencyHistogram;
+    }
+
+    // latency that percentile percent of the requests do not exceed
+    public long getLatencyPercentile(double percentile) {
+        return getLatencyHistogram().getValueAtPercentile(percentile);
+    }
+
+    // time the last request was serviced
+    public long getMakespan() {
+        return serviceOrder.length == 0 ? 0 : completionTime[serviceOrder.length - 1];
+    }
+
+    // serviced requests per second, the model times being microseconds; NaN under a model that
+    // counts cylinders moved instead of time
+    public double getIops() {
+        if (model.isCylinderUnits()) return Double.NaN;
+        long makespan = getMakespan();
+        return makespan == 0 ? 0 : serviceOrder.length * 1e6 / makespan;
+    }
+
+    public long getMaxLatency() {
+        long max = 0;
+        for (int i = 0; i < serviceOrder.length; i++) max = Math.max(max, getLatency(i));
+        return max;
+    }
+
+    public int getPathLength() {
+        return pathCylinder.length;
+    }
+
+    public long getPathTime(int k) {
+        return pathTime[k];
+    }
+
+    public int getPathCylinder(int k) {
+        return pathCylinder[k];
+    }
+
+    public boolean isJump(int k) {
+        return pathJump[k];
+    }
+}
@@ -0,0 +1,19 @@
+package algorithms;
+
+// Headless disk scheduling algorithm. The head moves one cylinder per time unit, so seek
+// distances and times share one unit.
+public interface DiskScheduler {
+
+    String getName();
+
+    DiskScheduleResult simulate(DiskWorkload requests, int headPosition, int diskSize, SimulationMonitor monitor);
+
+    default DiskScheduleResult simulate(DiskWorkload requests, int headPosition, int diskSize) {
+        return simulate(requests, headPosition, diskSize, SimulationMonitor.NONE);
+    }
+
+    // every request waiting at time 0
+    default DiskScheduleResult simulate(int[] requests, int headPosition, int diskSize) {
+        return simulate(DiskWorkload.atTimeZero(requests), headPosition, diskSize);
+    }
+}
@@ -0,0 +1,61 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Immutable list of disk requests, the cylinder and the arrival time of request i as int columns.
+public class DiskWorkload {
+    private final int[] cylinder;
+    private final int[] arrivalTime;
+
+    public DiskWorkload(int[] cylinder, int[] arrivalTime) {
+        this(cylinder, arrivalTime, true);
+    }
+
+    private DiskWorkload(int[] cylinder, int[] arrivalTime, boolean copy) {
+        if (arrivalTime.length != cylinder.length) throw new IllegalArgumentException("Every request needs an arrival time");
+        for (int i = 0; i < cylinder.length; i++) {
+            if (cylinder[i] < 0) throw new IllegalArgumentException("Cylinder of request " + (i + 1) + " must not be negative");
+            if (arrivalTime[i] < 0) throw new IllegalArgumentException("Arrival time of request " + (i + 1) + " must not be negative");
+        }
+        this.cylinder = copy ? cylinder.clone() : cylinder;
+        this.arrivalTime = copy ? arrivalTime.clone() : arrivalTime;
+    }
+
+    // every request already waiting at time 0, the classic request queue
+    public static DiskWorkload atTimeZero(int[] cylinders) {
+        return new DiskWorkload(cylinders.clone(), new int[cylinders.length], false);
+    }
+
+    public int size() {
+        return cylinder.length;
+    }
+
+    public int getCylinder(int i) {
+        return cylinder[i];
+    }
+
+    public int getArrivalTime(int i) {
+        return arrivalTime[i];
+    }
+
+    public int getMaxCylinder() {
+        int max = -1;
+        for (int c : cylinder) max = Math.max(max, c);
+        return max;
+    }
+
+    // request indices sorted by arrival time, ties keep their order
+    public int[] getArrivalOrder() {
+        long[] keys = new long[cylinder.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) arrivalTime[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,40 @@
+package algorithms;
+
+// Sum of longs in 128 bits, so adding up the times of 100M processes over days in microseconds
+// can neither overflow nor lose the low digits a double would.
+final class ExactSum {
+    private long low;
+    private long high;
+
+    void add(long value) {
+        long sum = low + value;
+        // carry out of the low word taken as unsigned, plus the sign extension of value
+        if (Long.compareUnsigned(sum, low) < 0) high++;
+        high += value >> 63;
+        low = sum;
+    }
+
+    void add(ExactSum other) {
+        long sum = low + other.low;
+        if (Long.compareUnsigned(sum, low) < 0) high++;
+        high += other.high;
+        low = sum;
+    }
+
+    // the sum, it must fit in a long
+    long longValueExact() {
+        if (high != low >> 63) throw new ArithmeticException("Sum does not fit in 64 bits");
+        return low;
+    }
+
+    double doubleValue() {
+        if (high == low >> 63) return low;
+        // high * 2^64 plus low taken as unsigned, 32 bits at a time so small negative sums stay exact
+        return (high * 0x1p32 + (low >>> 32)) * 0x1p32 + (low & 0xFFFFFFFFL);
+    }
+
+    // sum / count, 0 when count is 0
+    double mean(long count) {
+        return count == 0 ? 0 : doubleValue() / count;
+    }
+}
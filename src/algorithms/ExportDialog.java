@@ -0,0 +1,88 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// "Export..." button of the result windows: asks for a format and a file name, then writes the
+// result in the background with ResultExporter.
+public class ExportDialog {
+
+    public enum Format {
+        CSV("CSV (processes and segments)"),
+        TIMELINE("Binary timeline (varint, delta)"),
+        COLUMNAR("Columnar chunks (processes and segments)");
+
+        private final String label;
+
+        Format(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private ExportDialog() {
+    }
+
+    // result is read when the button is pressed, so windows whose result changes export the current one
+    public static JButton createButton(Component parent, Supplier<ScheduleResult> result) {
+        JButton button = new JButton("Export...");
+        button.setFont(new Font("SansSerif", Font.BOLD, 14));
+        button.setToolTipText("Save the process metrics and the Gantt chart for offline analysis");
+        button.addActionListener(e -> show(parent, result.get()));
+        return button;
+    }
+
+    public static void show(Component parent, ScheduleResult result) {
+        Format format = (Format) JOptionPane.showInputDialog(parent, "Export format:", "Export",
+                JOptionPane.QUESTION_MESSAGE, null, Format.values(), Format.CSV);
+        if (format == null) return;
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export (files are named after the one you choose)");
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        Path base = chooser.getSelectedFile().toPath();
+
+        SimulationWorker.start("Export", monitor -> export(base, format, result), files -> {
+            StringBuilder message = new StringBuilder("Exported to:");
+            for (Path file : files) message.append('\n').append(file);
+            JOptionPane.showMessageDialog(parent, message.toString());
+        });
+    }
+
+    // writes the files of format next to base, named after it without its extension
+    public static List<Path> export(Path base, Format format, ScheduleResult result) throws Exception {
+        String name = base.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) name = name.substring(0, dot);
+        Path directory = base.toAbsolutePath().getParent();
+
+        List<Path> files = new ArrayList<>();
+        switch (format) {
+            case CSV:
+                files.add(directory.resolve(name + "-processes.csv"));
+                files.add(directory.resolve(name + "-segments.csv"));
+                ResultExporter.writeProcessesCsv(files.get(0), result);
+                ResultExporter.writeSegmentsCsv(files.get(1), result);
+                break;
+            case TIMELINE:
+                files.add(directory.resolve(name + "-timeline.bin"));
+                ResultExporter.writeTimelineBinary(files.get(0), result);
+                break;
+            case COLUMNAR:
+                files.add(directory.resolve(name + "-processes.col"));
+                files.add(directory.resolve(name + "-segments.col"));
+                ResultExporter.writeProcessesColumnar(files.get(0), result);
+                ResultExporter.writeSegmentsColumnar(files.get(1), result);
+                break;
+        }
+        return files;
+    }
+}
@@ -0,0 +1,221 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Gantt chart that only draws what is visible. Every pixel column is one bucket: the segments at
+// both edges of the column are found by binary search, and a column holding more than one segment
+// is drawn darker in the color of the segment in its middle. Columns are rendered into cached
+// image tiles per zoom level, so repaints cost the same for 100 or 10M segments.
+// Mouse wheel zooms around the cursor, dragging pans, double click shows the whole chart again.
+public class GanttChartPanel extends JPanel {
+    private static final int TILE_WIDTH = 256;
+    private static final int MAX_TILES = 96;
+    private static final int BAR_HEIGHT = 50;
+    private static final int MARGIN = 30;
+    private static final int START_Y = 40;
+
+    private final Timeline ganttChart;
+    private final Color[] palette;
+    private final int[] paletteRgb;
+
+    private int zoom;
+    private long offset;
+    private int chartWidth = -1;
+    private int dragX;
+
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(MAX_TILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+
+    public GanttChartPanel(Timeline ganttChart, Color[] palette) {
+        this.ganttChart = ganttChart;
+        this.palette = palette;
+        this.paletteRgb = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) paletteRgb[i] = palette[i].getRGB();
+
+        this.setBackground(Color.WHITE);
+        this.setToolTipText("Scroll to zoom, drag to pan, double click to reset");
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                if (e.getClickCount() == 2) {
+                    zoom = 0;
+                    offset = 0;
+                    repaint();
+                }
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                offset -= e.getX() - dragX;
+                dragX = e.getX();
+                clampOffset();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAround(e.getX() - MARGIN, e.getWheelRotation() < 0 ? 1 : -1);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    private double timePerPixel(int level) {
+        return (double) ganttChart.getTotalTime() / chartWidth / (1L << level);
+    }
+
+    private long totalPixels() {
+        return (long) chartWidth << zoom;
+    }
+
+    private void zoomAround(int x, int step) {
+        int level = zoom + step;
+        if (level < 0 || chartWidth <= 0) return;
+        // stop once a single time unit is wider than 64 pixels
+        if (step > 0 && timePerPixel(level) < 1.0 / 64) return;
+
+        double time = (offset + x) * timePerPixel(zoom);
+        zoom = level;
+        offset = (long) (time / timePerPixel(zoom)) - x;
+        clampOffset();
+        repaint();
+    }
+
+    private void clampOffset() {
+        offset = Math.max(0, Math.min(offset, totalPixels() - chartWidth));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (ganttChart.isEmpty() || ganttChart.getTotalTime() == 0) return;
+
+        int w = getWidth() - 2 * MARGIN;
+        if (w <= 0) return;
+        if (w != chartWidth) {
+            // tiles depend on the time per pixel, which depends on the width
+            chartWidth = w;
+            tiles.clear();
+            clampOffset();
+        }
+
+        Shape clip = g.getClip();
+        g.clipRect(MARGIN, START_Y, w, BAR_HEIGHT);
+        for (long tile = offset / TILE_WIDTH; tile * TILE_WIDTH < offset + w; tile++) {
+            g.drawImage(tile(tile), MARGIN + (int) (tile * TILE_WIDTH - offset), START_Y, null);
+        }
+        g.setClip(clip);
+
+        g.setColor(Color.BLACK);
+        g.drawRect(MARGIN, START_Y, w, BAR_HEIGHT);
+        drawLabels(g, w);
+    }
+
+    private BufferedImage tile(long tile) {
+        long key = ((long) zoom << 56) | tile;
+        BufferedImage image = tiles.get(key);
+        if (image == null) {
+            image = renderTile(tile);
+            tiles.put(key, image);
+        }
+        return image;
+    }
+
+    private BufferedImage renderTile(long tile) {
+        BufferedImage image = new BufferedImage(TILE_WIDTH, BAR_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        double tpp = timePerPixel(zoom);
+        int white = Color.WHITE.getRGB();
+
+        for (int x = 0; x < TILE_WIDTH; x++) {
+            long pixel = tile * TILE_WIDTH + x;
+            double from = pixel * tpp;
+            double to = from + tpp;
+            int rgb = white;
+
+            if (from < ganttChart.getTotalTime()) {
+                // segments overlapping [from, to)
+                long first = ganttChart.indexAt((long) from);
+                long last = ganttChart.indexAt((long) Math.ceil(to) - 1);
+                if (ganttChart.getEndTime(first) <= from) first++;
+                if (ganttChart.getStartTime(last) >= to) last--;
+
+                if (first == last) {
+                    rgb = colorOf(first);
+                } else if (first < last) {
+                    long middle = Math.max(first, Math.min(last, ganttChart.indexAt((long) ((from + to) / 2))));
+                    rgb = new Color(colorOf(middle)).darker().getRGB();
+                }
+            }
+
+            for (int y = 0; y < BAR_HEIGHT; y++) pixels[y * TILE_WIDTH + x] = rgb;
+        }
+        return image;
+    }
+
+    private int colorOf(long i) {
+        int pid = ganttChart.getPid(i);
+        if (pid == Timeline.IDLE) return Color.LIGHT_GRAY.getRGB();
+        if (pid == Timeline.OVERHEAD) return Color.DARK_GRAY.getRGB();
+        return paletteRgb[Math.floorMod(pid, paletteRgb.length)];
+    }
+
+    // labels and borders for segments wide enough to read, otherwise an evenly spaced time axis
+    private void drawLabels(Graphics g, int w) {
+        double tpp = timePerPixel(zoom);
+        double viewStart = offset * tpp;
+        double viewEnd = viewStart + w * tpp;
+        long first = ganttChart.indexAt((long) viewStart);
+        long last = ganttChart.indexAt((long) Math.ceil(viewEnd) - 1);
+        int labelY = START_Y + BAR_HEIGHT + 15;
+
+        if (last - first < w / 40) {
+            for (long i = first; i <= last; i++) {
+                int startX = MARGIN + (int) Math.round(ganttChart.getStartTime(i) / tpp - offset);
+                int endX = MARGIN + (int) Math.round(ganttChart.getEndTime(i) / tpp - offset);
+                int clippedStart = Math.max(startX, MARGIN);
+                int clippedEnd = Math.min(endX, MARGIN + w);
+
+                g.setColor(Color.BLACK);
+                g.drawRect(clippedStart, START_Y, clippedEnd - clippedStart, BAR_HEIGHT);
+
+                String label = ganttChart.isIdle(i) ? "Idle" : ganttChart.isOverhead(i) ? "OH" : "P" + ganttChart.getPid(i);
+                if (clippedEnd - clippedStart > 20) {
+                    g.drawString(label, (clippedStart + clippedEnd) / 2 - 5, START_Y + 30);
+                }
+                if (startX >= MARGIN) g.drawString(String.valueOf(ganttChart.getStartTime(i)), startX, labelY);
+            }
+            if (last == ganttChart.size() - 1 && ganttChart.getTotalTime() <= viewEnd) {
+                g.drawString(String.valueOf(ganttChart.getTotalTime()), MARGIN + (int) Math.round(ganttChart.getTotalTime() / tpp - offset), labelY);
+            }
+            return;
+        }
+
+        g.setColor(Color.BLACK);
+        int ticks = Math.max(2, w / 100);
+        for (int t = 0; t <= ticks; t++) {
+            int x = MARGIN + w * t / ticks;
+            long time = Math.round(viewStart + (viewEnd - viewStart) * t / ticks);
+            g.drawLine(x, START_Y + BAR_HEIGHT, x, START_Y + BAR_HEIGHT + 4);
+            String label = String.valueOf(time);
+            int labelX = t == ticks ? x - g.getFontMetrics().stringWidth(label) : x - 5;
+            g.drawString(label, labelX, labelY);
+        }
+    }
+}
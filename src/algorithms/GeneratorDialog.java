@@ -0,0 +1,80 @@
+package algorithms;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Asks for the parameters of a WorkloadGenerator. The trace to replay is read and the workload
+// generated by generate, which the callers run in the background like a trace import.
+public class GeneratorDialog {
+    private final int count;
+    private final long seed;
+    private final WorkloadGenerator.ArrivalProcess arrivals;
+    private final double meanInterArrival;
+    // null unless the arrivals replay a trace
+    private final Path trace;
+    private final WorkloadGenerator.Distribution bursts;
+    private final double meanBurst;
+    private final WorkloadGenerator.Distribution priorities;
+    private final int maxPriority;
+
+    private GeneratorDialog(int count, long seed, WorkloadGenerator.ArrivalProcess arrivals, double meanInterArrival, Path trace,
+                            WorkloadGenerator.Distribution bursts, double meanBurst, WorkloadGenerator.Distribution priorities, int maxPriority) {
+        this.count = count;
+        this.seed = seed;
+        this.arrivals = arrivals;
+        this.meanInterArrival = meanInterArrival;
+        this.trace = trace;
+        this.bursts = bursts;
+        this.meanBurst = meanBurst;
+        this.priorities = priorities;
+        this.maxPriority = maxPriority;
+    }
+
+    // null when the user cancels one of the prompts
+    public static GeneratorDialog prompt(String title) {
+        String countString = JOptionPane.showInputDialog(null, "Number of processes to generate:", "1000000");
+        if (countString == null) return null;
+        int count = Integer.parseInt(countString.trim());
+
+        WorkloadGenerator.ArrivalProcess arrivals = (WorkloadGenerator.ArrivalProcess) JOptionPane.showInputDialog(null, "Arrival process:", title,
+                JOptionPane.QUESTION_MESSAGE, null, WorkloadGenerator.ArrivalProcess.values(), WorkloadGenerator.ArrivalProcess.POISSON);
+        if (arrivals == null) return null;
+
+        double meanInterArrival = 0;
+        Path trace = null;
+        if (arrivals == WorkloadGenerator.ArrivalProcess.REPLAY) {
+            trace = TraceFileChooser.choose(null);
+            if (trace == null) return null;
+        } else {
+            String gapString = JOptionPane.showInputDialog(null, "Mean time between arrivals:", "10");
+            if (gapString == null) return null;
+            meanInterArrival = Double.parseDouble(gapString.trim());
+        }
+
+        WorkloadGenerator.Distribution bursts = (WorkloadGenerator.Distribution) JOptionPane.showInputDialog(null, "Burst time distribution:", title,
+                JOptionPane.QUESTION_MESSAGE, null, WorkloadGenerator.Distribution.values(), WorkloadGenerator.Distribution.EXPONENTIAL);
+        if (bursts == null) return null;
+        String burstString = JOptionPane.showInputDialog(null, "Mean burst time:", "8");
+        if (burstString == null) return null;
+        double meanBurst = Double.parseDouble(burstString.trim());
+
+        WorkloadGenerator.Distribution priorities = (WorkloadGenerator.Distribution) JOptionPane.showInputDialog(null, "Priority distribution:", title,
+                JOptionPane.QUESTION_MESSAGE, null, WorkloadGenerator.Distribution.values(), WorkloadGenerator.Distribution.UNIFORM);
+        if (priorities == null) return null;
+        String priorityString = JOptionPane.showInputDialog(null, "Highest priority number and seed (e.g. 10, 42):", "10, 42");
+        if (priorityString == null) return null;
+        String[] parts = priorityString.trim().split("[,\\s]+");
+        if (parts.length != 2) throw new IllegalArgumentException("Expected the highest priority number and the seed: " + priorityString);
+
+        return new GeneratorDialog(count, Long.parseLong(parts[1]), arrivals, meanInterArrival, trace,
+                bursts, meanBurst, priorities, Integer.parseInt(parts[0]));
+    }
+
+    public Workload generate() throws IOException {
+        WorkloadGenerator generator = trace != null
+                ? new WorkloadGenerator(seed, TraceImporter.readWorkload(trace), bursts, meanBurst, priorities, maxPriority)
+                : new WorkloadGenerator(seed, arrivals, meanInterArrival, bursts, meanBurst, priorities, maxPriority);
+        return generator.generate(count);
+    }
+}
@@ -0,0 +1,104 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+
+public class HeadMovementChartPanel extends JPanel {
+
+    private DiskScheduleResult result;
+    private long[] pathTime;
+    private int[] pathCylinder;
+    private boolean[] isJump;
+
+    public HeadMovementChartPanel(DiskScheduleResult result) {
+        this.result = result;
+
+        // every point where the head stopped, turned or jumped, the jumps drawn dashed
+        int points = result.getPathLength();
+        pathTime = new long[points];
+        pathCylinder = new int[points];
+        isJump = new boolean[points];
+        for (int k = 0; k < points; k++) {
+            pathTime[k] = result.getPathTime(k);
+            pathCylinder[k] = result.getPathCylinder(k);
+            isJump[k] = result.isJump(k);
+        }
+
+        this.setBackground(Color.WHITE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int startX = 30;
+        int startY = 40;
+        int w = getWidth() - 60;
+        int h = getHeight() - startY - 20;
+        int maxCylinder = Math.max(result.getDiskSize() - 1, 1);
+        // time runs down the chart
+        long maxTime = Math.max(pathTime[pathTime.length - 1], 1);
+        boolean detailed = pathCylinder.length <= h / 6;
+
+        // cylinder axis
+        g2d.setColor(Color.BLACK);
+        g2d.drawLine(startX, startY - 10, startX + w, startY - 10);
+        g2d.drawString("0", startX, startY - 15);
+        g2d.drawString(String.valueOf(maxCylinder), startX + w - 20, startY - 15);
+        g2d.drawString("t = " + maxTime, startX + w - 60, startY + h + 15);
+
+        Stroke solid = g2d.getStroke();
+        Stroke dashed = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10, new float[] {5, 5}, 0);
+        Color pathColor = new Color(0, 82, 212);
+
+        int prevX = startX + (int) ((long) pathCylinder[0] * w / maxCylinder);
+        int prevY = startY;
+        g2d.setColor(pathColor);
+        if (detailed) g2d.fillOval(prevX - 3, prevY - 3, 6, 6);
+
+        // a long path has many points on one pixel row, they are merged into one line from the
+        // leftmost to the rightmost of them
+        int rowMin = prevX;
+        int rowMax = prevX;
+
+        for (int i = 1; i < pathCylinder.length; i++) {
+            int x = startX + (int) ((long) pathCylinder[i] * w / maxCylinder);
+            int y = startY + (int) ((double) pathTime[i] * h / maxTime);
+
+            if (!detailed && y == prevY && !isJump[i]) {
+                rowMin = Math.min(rowMin, x);
+                rowMax = Math.max(rowMax, x);
+                prevX = x;
+                continue;
+            }
+            if (rowMin != rowMax) {
+                g2d.setColor(pathColor);
+                g2d.drawLine(rowMin, prevY, rowMax, prevY);
+            }
+
+            g2d.setColor(isJump[i] ? Color.GRAY : pathColor);
+            g2d.setStroke(isJump[i] ? dashed : solid);
+            g2d.drawLine(prevX, prevY, x, y);
+            g2d.setStroke(solid);
+
+            if (detailed) {
+                g2d.fillOval(x - 3, y - 3, 6, 6);
+                if (y - prevY >= 12) {
+                    g2d.setColor(Color.BLACK);
+                    g2d.drawString(String.valueOf(pathCylinder[i]), x + 5, y + 4);
+                }
+            }
+
+            prevX = x;
+            prevY = y;
+            rowMin = x;
+            rowMax = x;
+        }
+        if (rowMin != rowMax) {
+            g2d.setColor(pathColor);
+            g2d.drawLine(rowMin, prevY, rowMax, prevY);
+        }
+    }
+}
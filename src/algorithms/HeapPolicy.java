@@ -0,0 +1,66 @@
+package algorithms;
+
+// Policy whose ready queue is a single heap ordered by a comparator over the process table.
+public class HeapPolicy implements SchedulingPolicy {
+    private final String name;
+    private final boolean preemptive;
+    private final ProcessComparator comparator;
+    // only the built-in policies have one
+    private final String cacheKey;
+
+    public HeapPolicy(String name, boolean preemptive, ProcessComparator comparator) {
+        this(name, preemptive, comparator, null);
+    }
+
+    HeapPolicy(String name, boolean preemptive, ProcessComparator comparator, String cacheKey) {
+        this.name = name;
+        this.preemptive = preemptive;
+        this.comparator = comparator;
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return preemptive;
+    }
+
+    @Override
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    public ProcessComparator getComparator() {
+        return comparator;
+    }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable table) {
+        IntHeap heap = new IntHeap((a, b) -> comparator.compare(table, a, b));
+        return new ReadyQueue() {
+            @Override
+            public void add(int p, long now) {
+                heap.add(p);
+            }
+
+            @Override
+            public int poll(long now) {
+                return heap.poll();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return heap.isEmpty();
+            }
+
+            @Override
+            public int[] toArray() {
+                return heap.toArray();
+            }
+        };
+    }
+}
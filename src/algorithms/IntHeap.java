@@ -0,0 +1,78 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Binary min-heap of int values (process indices), ordered by a comparator over the indices.
+// Avoids the Integer boxing a PriorityQueue<Integer> would need.
+public class IntHeap {
+
+    public interface Comparator {
+        int compare(int a, int b);
+    }
+
+    private final Comparator comparator;
+    private int[] heap;
+    private int size;
+
+    public IntHeap(Comparator comparator) {
+        this(comparator, 16);
+    }
+
+    public IntHeap(Comparator comparator, int initialCapacity) {
+        this.comparator = comparator;
+        this.heap = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, heap.length + (heap.length >> 1) + 1);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (comparator.compare(value, heap[parent]) >= 0) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public int poll() {
+        int top = heap[0];
+        int last = heap[--size];
+        if (size > 0) siftDown(0, last);
+        return top;
+    }
+
+    private void siftDown(int i, int value) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare(heap[right], heap[child]) < 0) child = right;
+            if (comparator.compare(value, heap[child]) <= 0) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // the values in heap order, not sorted
+    public int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,93 @@
+package algorithms;
+
+// Histogram of non-negative times in the style of HdrHistogram: every power of two is split into
+// the same number of linear sub-buckets, so a percentile is exact up to 2^SUB_BUCKET_BITS and
+// within 1/2^(SUB_BUCKET_BITS-1) of the true value above it. The memory is fixed, about 30 KB,
+// however many values are recorded, and recording is a few shifts and an array increment.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    // values below SUB_BUCKET_COUNT get a bucket each, every higher power of two HALF_COUNT
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * HALF_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    // exact, for the mean
+    private final ExactSum total = new ExactSum();
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) throw new IllegalArgumentException("Cannot record a negative time: " + value);
+        counts[indexOf(value)]++;
+        count++;
+        total.add(value);
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    // adds the values recorded in other
+    public void add(LatencyHistogram other) {
+        if (other.count == 0) return;
+        for (int i = 0; i < BUCKET_COUNT; i++) counts[i] += other.counts[i];
+        count += other.count;
+        total.add(other.total);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // throws ArithmeticException if the sum does not fit in a long
+    public long getTotal() {
+        return total.longValueExact();
+    }
+
+    public double getMean() {
+        return total.mean(count);
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    // value that percentile percent of the recorded values do not exceed, nearest rank,
+    // reported as the highest value of its bucket but never above the maximum
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        if (rank >= count) return max;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * HALF_COUNT + (int) (value >>> shift);
+    }
+
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = (index - HALF_COUNT) / HALF_COUNT;
+        long subBucket = index - shift * HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50 %d, p90 %d, p99 %d, p99.9 %d, max %d",
+            getValueAtPercentile(50), getValueAtPercentile(90), getValueAtPercentile(99), getValueAtPercentile(99.9), getMax());
+    }
+}
@@ -0,0 +1,98 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Multilevel feedback queue. Every process starts in level 0; using up a whole quantum moves it
+// one level down, the last level runs first come first serve. A process in a higher level
+// preempts a lower one; the preempted process keeps its place and the rest of its quantum.
+public class MLFQPolicy implements SchedulingPolicy {
+    private final int[] quanta;
+
+    // one quantum per level above the last, e.g. (8, 16) gives three levels
+    public MLFQPolicy(int... quanta) {
+        for (int q : quanta) {
+            if (q < 1) throw new IllegalArgumentException("Time quantum must be at least 1: " + q);
+        }
+        this.quanta = quanta.clone();
+    }
+
+    public int getLevels() {
+        return quanta.length + 1;
+    }
+
+    @Override
+    public String getName() {
+        return "MLFQ " + Arrays.toString(quanta);
+    }
+
+    @Override
+    public String getCacheKey() {
+        return "mlfq " + Arrays.toString(quanta);
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return true;
+    }
+
+    @Override
+    public ReadyQueue newReadyQueue(ProcessTable table) {
+        return new Queue(table.size());
+    }
+
+    private class Queue implements ReadyQueue {
+        private final int[] level;
+        private final int[] used;
+        // enqueue order inside a level, the heap orders by (level, sequence)
+        private final long[] sequence;
+        private final IntHeap heap;
+        private long nextSequence;
+
+        Queue(int size) {
+            level = new int[size];
+            used = new int[size];
+            sequence = new long[size];
+            Arrays.fill(sequence, -1);
+            heap = new IntHeap((a, b) -> level[a] != level[b] ? Integer.compare(level[a], level[b]) : Long.compare(sequence[a], sequence[b]));
+        }
+
+        @Override
+        public void add(int p, long now) {
+            // a preempted process is put back with its old sequence, so it stays first in its level
+            if (sequence[p] < 0) sequence[p] = nextSequence++;
+            heap.add(p);
+        }
+
+        @Override
+        public int poll(long now) {
+            return heap.poll();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        @Override
+        public int[] toArray() {
+            return heap.toArray();
+        }
+
+        @Override
+        public int sliceFor(int p, long now) {
+            if (level[p] == quanta.length) return Integer.MAX_VALUE;
+            return quanta[level[p]] - used[p];
+        }
+
+        @Override
+        public void ran(int p, int units, boolean sliceExpired) {
+            if (!sliceExpired) {
+                used[p] += units;
+                return;
+            }
+            level[p]++;
+            used[p] = 0;
+            sequence[p] = nextSequence++;
+        }
+    }
+}
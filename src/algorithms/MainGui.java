@@ -16,6 +16,9 @@ public class MainGui {
     private JButton btnPP;
     private JButton btnRR;
     private JButton btnCS;
+    private JButton btnMC;
+    private JButton btnCmp;
+    private JButton btnCache;
     
     //labels
     private JLabel groupLabel;
@@ -37,6 +40,8 @@ public class MainGui {
     private OperatingSystemAlgorithm santosPrioAlgo;
     private OperatingSystemAlgorithm teodoroRRAlgo;
     private OperatingSystemAlgorithm larazeCSAlgo;
+    private OperatingSystemAlgorithm multiCoreAlgo;
+    private OperatingSystemAlgorithm comparisonAlgo;
     
     public static void main(String[] args) {
         MainGui mainGui = new MainGui();
@@ -47,6 +52,8 @@ public class MainGui {
         santosPrioAlgo = new PreemptivePriority();
         teodoroRRAlgo = new RoundRobin();
         larazeCSAlgo = new CircularScan();
+        multiCoreAlgo = new MultiCoreScheduling();
+        comparisonAlgo = new AlgorithmComparison();
         startApp();
     }
     
@@ -70,7 +77,7 @@ public class MainGui {
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         dl1 = designLabel("This app calculates the value for Preemptive Priority, Round Robin,");
-        dl2 = designLabel("and C Scan to demonstrate how it works by showing the table and the chart.");
+        dl2 = designLabel("and disk scheduling to demonstrate how it works by showing the table and the chart.");
         dl3 = designLabel("You should provide the required values and the app will simulate it for you!");
         dl4 = designLabel("Please select an algorithm below.");
         
@@ -78,7 +85,10 @@ public class MainGui {
         
         btnPP = designButton("Preemptive Priority", buttonSize);
         btnRR = designButton("Round Robin", buttonSize);
-        btnCS = designButton("Circular Scan", buttonSize);
+        btnCS = designButton("Disk Scheduling", buttonSize);
+        btnMC = designButton("Multi-Core Scheduling", buttonSize);
+        btnCmp = designButton("Compare Algorithms", buttonSize);
+        btnCache = designButton("Result Cache", buttonSize);
 
         homePanel.add(Box.createVerticalGlue()); 
         homePanel.add(titleLabel);
@@ -96,6 +106,12 @@ public class MainGui {
         homePanel.add(btnRR);
         homePanel.add(Box.createRigidArea(new Dimension(0, 10)));
         homePanel.add(btnCS);
+        homePanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        homePanel.add(btnMC);
+        homePanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        homePanel.add(btnCmp);
+        homePanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        homePanel.add(btnCache);
         homePanel.add(Box.createVerticalGlue()); 
         cardContainer.add(homePanel, "HOME");    
         
@@ -126,6 +142,24 @@ public class MainGui {
                 runAlgorithm(larazeCSAlgo);
             }
         });
+
+        btnMC.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                runAlgorithm(multiCoreAlgo);
+            }
+        });
+
+        btnCmp.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                runAlgorithm(comparisonAlgo);
+            }
+        });
+
+        btnCache.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                showCache();
+            }
+        });
     }
     private JLabel designLabel(String text) {
         JLabel label = new JLabel(text);
@@ -165,6 +199,21 @@ public class MainGui {
         
     }
 
+    // statistics of the cache that the CPU scheduling windows share, and a way to empty it
+    private void showCache() {
+        ResultCache cache = ResultCache.shared();
+        String[] options = {"Clear", "Close"};
+        String text = cache.toString().replace("; ", "\n");
+        if (cache.getSpillDirectory() == null) {
+            text += "\nKept in memory only, start with -D" + ResultCache.DIRECTORY_PROPERTY + "=<directory> to keep results on disk";
+        } else {
+            text += "\nClear also deletes the files in " + cache.getSpillDirectory();
+        }
+        int choice = JOptionPane.showOptionDialog(mainFrame, text, "Result Cache",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[1]);
+        if (choice == 0) cache.clear();
+    }
+
     private void runAlgorithm(OperatingSystemAlgorithm alg) {
         String instructions = alg.getInstructions();
         int choice = JOptionPane.showConfirmDialog(
@@ -0,0 +1,167 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MultiCoreScheduling implements OperatingSystemAlgorithm {
+
+    private static final HeapPolicy[] POLICIES = {
+        (HeapPolicy) SchedulingPolicy.FCFS,
+        (HeapPolicy) SchedulingPolicy.SJF,
+        (HeapPolicy) SchedulingPolicy.SRTF,
+        (HeapPolicy) SchedulingPolicy.PRIORITY,
+        (HeapPolicy) SchedulingPolicy.PREEMPTIVE_PRIORITY
+    };
+
+    private final Color[] ganttColors = {
+        Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE,
+        Color.MAGENTA, Color.CYAN, Color.PINK, Color.YELLOW
+    };
+
+    @Override
+    public String getInstructions() {
+        return "<html><b>Multi-Core Scheduling</b><br><br>"
+                + "Every core has its own run queue. New processes are spread over the cores<br>"
+                + "and idle cores can steal work from busy ones, paying a migration cost.<br><br>"
+                + "<b>Do you want to continue?</b></html>";
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Inputs
+            Path file = null;
+            GeneratorDialog generator = null;
+            Workload workload = null;
+            TraceFileChooser.Source source = TraceFileChooser.askSource("Multi-Core Scheduling");
+            if (source == null) return;
+            if (source == TraceFileChooser.Source.IMPORT) {
+                file = TraceFileChooser.choose(null);
+                if (file == null) return;
+            } else if (source == TraceFileChooser.Source.GENERATE) {
+                generator = GeneratorDialog.prompt("Multi-Core Scheduling");
+                if (generator == null) return;
+            } else {
+                workload = promptWorkload();
+                if (workload == null) return;
+            }
+
+            String coreString = JOptionPane.showInputDialog(null, "Enter Number of Cores: ");
+            if (coreString == null) return;
+            int cores = Integer.parseInt(coreString.trim());
+
+            String[] names = new String[POLICIES.length];
+            for (int i = 0; i < names.length; i++) names[i] = POLICIES[i].getName();
+            Object policyName = JOptionPane.showInputDialog(null, "Scheduling policy of every core:", "Multi-Core Scheduling",
+                    JOptionPane.QUESTION_MESSAGE, null, names, names[0]);
+            if (policyName == null) return;
+            HeapPolicy policy = POLICIES[Arrays.asList(names).indexOf(policyName)];
+
+            SmpScheduler.LoadBalancing balancing = (SmpScheduler.LoadBalancing) JOptionPane.showInputDialog(null, "Load balancing:", "Multi-Core Scheduling",
+                    JOptionPane.QUESTION_MESSAGE, null, SmpScheduler.LoadBalancing.values(), SmpScheduler.LoadBalancing.WORK_STEALING);
+            if (balancing == null) return;
+
+            int migrationCost = 0;
+            if (balancing == SmpScheduler.LoadBalancing.WORK_STEALING) {
+                String costString = JOptionPane.showInputDialog(null, "Enter Migration Cost (time units): ", "0");
+                if (costString == null) return;
+                migrationCost = Integer.parseInt(costString.trim());
+            }
+
+            // Logic, the import or generation and the simulation run in the background
+            SmpScheduler scheduler = new SmpScheduler(policy, cores, balancing, migrationCost);
+            Scheduler cached = new CachingScheduler(scheduler, ResultCache.shared());
+            Path traceFile = file;
+            Workload typedWorkload = workload;
+            GeneratorDialog generated = generator;
+            SimulationWorker.start("Multi-Core Scheduling", monitor -> {
+                Workload processes = traceFile != null ? TraceImporter.readWorkload(traceFile)
+                        : generated != null ? generated.generate() : typedWorkload;
+                return (SmpScheduleResult) cached.simulate(processes, monitor);
+            }, result -> showResult(scheduler, result));
+
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error: " + e.getMessage());
+        }
+    }
+
+    // null when the user cancels one of the prompts
+    static Workload promptWorkload() {
+        String intString = JOptionPane.showInputDialog(null, "Enter Number of Processes: ");
+        if (intString == null) return null;
+        int num = Integer.parseInt(intString.trim());
+
+        int[] pids = new int[num];
+        int[] arrivalTimes = new int[num];
+        int[] burstTimes = new int[num];
+        int[] priorities = new int[num];
+
+        for (int i = 0; i < num; i++) {
+            String pid = "P" + (i + 1);
+            String atString = JOptionPane.showInputDialog(null, "Arrival Time of " + pid + ":");
+            String btString = JOptionPane.showInputDialog(null, "Burst Time of " + pid + ":");
+            String prString = JOptionPane.showInputDialog(null, "Priority of " + pid + ":", "1");
+            if (atString == null || btString == null || prString == null) return null;
+
+            pids[i] = i + 1;
+            arrivalTimes[i] = Integer.parseInt(atString.trim());
+            burstTimes[i] = Integer.parseInt(btString.trim());
+            priorities[i] = Integer.parseInt(prString.trim());
+        }
+
+        return new Workload(pids, arrivalTimes, burstTimes, priorities);
+    }
+
+    private void showResult(SmpScheduler scheduler, SmpScheduleResult result) {
+        JFrame frame = new JFrame(scheduler.getName());
+        frame.setSize(1000, 700);
+        frame.setLocationRelativeTo(null);
+        frame.setLayout(new BorderLayout());
+
+        String[] header = {"Process", "AT", "BT", "Priority", "CT", "Turnaround", "Waiting", "Response", "Longest Wait"};
+        JTable table = new JTable(new ProcessResultTableModel(result, header, true));
+        table.setRowHeight(25);
+        JScrollPane tableScroll = new JScrollPane(table);
+        tableScroll.setPreferredSize(new Dimension(900, 220));
+        tableScroll.setBorder(BorderFactory.createTitledBorder("Final Process Table"));
+
+        Timeline[] lanes = new Timeline[result.getCoreCount()];
+        for (int c = 0; c < lanes.length; c++) lanes[c] = result.getTimeline(c);
+        JScrollPane laneScroll = new MultiLaneGanttPanel(lanes, ganttColors).createScrollPane();
+        laneScroll.setBorder(BorderFactory.createTitledBorder("Gantt Chart per Core"));
+
+        JPanel footer = new JPanel(new GridLayout(2, 4, 20, 5));
+        footer.setBorder(new EmptyBorder(10, 10, 10, 10));
+        footer.add(footerLabel(String.format("Avg Turnaround: %.2f", result.getAverageTurnAroundTime()), new Color(0, 102, 204)));
+        footer.add(footerLabel(String.format("Avg Waiting: %.2f", result.getAverageWaitingTime()), new Color(204, 51, 0)));
+        footer.add(footerLabel("p99 Waiting: " + result.getWaitingHistogram().getValueAtPercentile(99), new Color(204, 51, 0)));
+        footer.add(footerLabel("Max Waiting: " + result.getWaitingHistogram().getMax(), new Color(204, 51, 0)));
+        footer.add(footerLabel("Makespan: " + result.getMakespan(), Color.BLACK));
+        footer.add(footerLabel(String.format("CPU Utilization: %.1f%%", 100 * result.getCpuUtilization()), Color.BLACK));
+        footer.add(footerLabel("Context Switches: " + result.getContextSwitches(), Color.BLACK));
+        footer.add(footerLabel("Migrations: " + result.getMigrations() + " (" + result.getMigrationTime() + " units)", new Color(120, 60, 160)));
+
+        JPanel buttons = new JPanel();
+        buttons.setBorder(new EmptyBorder(10, 10, 10, 10));
+        buttons.add(ExportDialog.createButton(frame, () -> result));
+
+        JPanel south = new JPanel(new BorderLayout());
+        south.add(footer, BorderLayout.CENTER);
+        south.add(buttons, BorderLayout.EAST);
+
+        frame.add(tableScroll, BorderLayout.NORTH);
+        frame.add(laneScroll, BorderLayout.CENTER);
+        frame.add(south, BorderLayout.SOUTH);
+        frame.setVisible(true);
+    }
+
+    private JLabel footerLabel(String text, Color color) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("SansSerif", Font.BOLD, 14));
+        label.setForeground(color);
+        return label;
+    }
+}
@@ -0,0 +1,131 @@
+package algorithms;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+// One Gantt lane per core on a shared time axis. Only the lanes inside the visible part of the
+// scroll pane are painted, each pixel column by binary search like GanttChartPanel, so thousands
+// of lanes cost no more than the handful on screen.
+public class MultiLaneGanttPanel extends JPanel {
+    private static final int LANE_HEIGHT = 22;
+    private static final int LABEL_WIDTH = 70;
+    private static final int MARGIN = 20;
+
+    private final Timeline[] lanes;
+    private final String[] labels;
+    private final int[] paletteRgb;
+    private final long totalTime;
+
+    // lanes labelled CPU 0, CPU 1, ...
+    public MultiLaneGanttPanel(Timeline[] lanes, Color[] palette) {
+        this(lanes, cpuLabels(lanes.length), palette);
+    }
+
+    public MultiLaneGanttPanel(Timeline[] lanes, String[] labels, Color[] palette) {
+        this.lanes = lanes;
+        this.labels = labels;
+        this.paletteRgb = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) paletteRgb[i] = palette[i].getRGB();
+
+        long total = 0;
+        for (Timeline lane : lanes) total = Math.max(total, lane.getTotalTime());
+        this.totalTime = total;
+
+        setBackground(Color.WHITE);
+        setPreferredSize(new Dimension(800, lanes.length * LANE_HEIGHT));
+    }
+
+    private static String[] cpuLabels(int count) {
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) labels[i] = "CPU " + i;
+        return labels;
+    }
+
+    // scroll pane with the time axis as a fixed header
+    public JScrollPane createScrollPane() {
+        JScrollPane scroll = new JScrollPane(this, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scroll.getVerticalScrollBar().setUnitIncrement(LANE_HEIGHT);
+        scroll.setColumnHeaderView(new Axis());
+        return scroll;
+    }
+
+    private int chartWidth() {
+        return getWidth() - LABEL_WIDTH - MARGIN;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int w = chartWidth();
+        if (w <= 0 || totalTime == 0) return;
+
+        Rectangle clip = g.getClipBounds();
+        int first = Math.max(0, clip.y / LANE_HEIGHT);
+        int last = Math.min(lanes.length - 1, (clip.y + clip.height) / LANE_HEIGHT);
+        double tpp = (double) totalTime / w;
+
+        BufferedImage row = new BufferedImage(w, 1, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) row.getRaster().getDataBuffer()).getData();
+        for (int lane = first; lane <= last; lane++) {
+            renderLane(lanes[lane], pixels, tpp);
+            int y = lane * LANE_HEIGHT;
+            g.drawImage(row, LABEL_WIDTH, y + 2, w, LANE_HEIGHT - 4, null);
+            g.setColor(Color.BLACK);
+            g.drawString(labels[lane], 8, y + LANE_HEIGHT - 7);
+        }
+    }
+
+    private void renderLane(Timeline lane, int[] pixels, double tpp) {
+        int white = Color.WHITE.getRGB();
+        for (int x = 0; x < pixels.length; x++) {
+            double from = x * tpp;
+            double to = from + tpp;
+            int rgb = white;
+
+            if (!lane.isEmpty() && from < lane.getTotalTime()) {
+                long firstSegment = lane.indexAt((long) from);
+                long lastSegment = lane.indexAt((long) Math.ceil(to) - 1);
+                if (lane.getEndTime(firstSegment) <= from) firstSegment++;
+                if (lane.getStartTime(lastSegment) >= to) lastSegment--;
+
+                if (firstSegment == lastSegment) {
+                    rgb = colorOf(lane, firstSegment);
+                } else if (firstSegment < lastSegment) {
+                    long middle = Math.max(firstSegment, Math.min(lastSegment, lane.indexAt((long) ((from + to) / 2))));
+                    rgb = new Color(colorOf(lane, middle)).darker().getRGB();
+                }
+            }
+            pixels[x] = rgb;
+        }
+    }
+
+    private int colorOf(Timeline lane, long i) {
+        int pid = lane.getPid(i);
+        if (pid == Timeline.IDLE) return Color.LIGHT_GRAY.getRGB();
+        if (pid == Timeline.OVERHEAD) return Color.DARK_GRAY.getRGB();
+        return paletteRgb[Math.floorMod(pid, paletteRgb.length)];
+    }
+
+    private class Axis extends JComponent {
+        Axis() {
+            setPreferredSize(new Dimension(800, 22));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int w = chartWidth();
+            if (w <= 0) return;
+            g.setColor(Color.BLACK);
+            int ticks = Math.max(2, w / 100);
+            for (int t = 0; t <= ticks; t++) {
+                int x = LABEL_WIDTH + w * t / ticks;
+                String label = String.valueOf(totalTime * t / ticks);
+                int labelX = t == ticks ? x - g.getFontMetrics().stringWidth(label) : x - 5;
+                g.drawLine(x, getHeight() - 5, x, getHeight());
+                g.drawString(label, labelX, getHeight() - 8);
+            }
+        }
+    }
+}
@@ -1,13 +0,0 @@
-package algorithms;
-
-public class PPGanttChart {
-	int pid;
-    int startTime;
-    int endTime;
-
-    public PPGanttChart(int pid, int startTime, int endTime) {
-        this.pid = pid;
-        this.startTime = startTime;
-        this.endTime = endTime;
-    }
-}
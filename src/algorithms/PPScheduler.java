@@ -0,0 +1,13 @@
+package algorithms;
+
+// Preemptive priority scheduling, the lower the number the higher the priority.
+public class PPScheduler extends PolicyScheduler {
+
+    public PPScheduler() {
+        this(SwitchCost.NONE);
+    }
+
+    public PPScheduler(SwitchCost switchCost) {
+        super(SchedulingPolicy.PREEMPTIVE_PRIORITY, switchCost);
+    }
+}
@@ -0,0 +1,50 @@
+package algorithms;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+// One row of mean, percentiles and maximum per histogram of a result, the tail the averages hide.
+public class PercentileTableModel extends AbstractTableModel {
+    private static final String[] HEADER = {"Metric", "Mean", "p50", "p90", "p99", "p99.9", "Max"};
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final List<String> names = new ArrayList<>();
+    private final List<LatencyHistogram> histograms = new ArrayList<>();
+
+    // turnaround and waiting time, and response time when the result has it
+    public PercentileTableModel(ScheduleResult result) {
+        add("Turnaround", result.getTurnAroundHistogram());
+        add("Waiting", result.getWaitingHistogram());
+        if (result.hasStarvationMetrics()) add("Response", result.getResponseHistogram());
+    }
+
+    private void add(String name, LatencyHistogram histogram) {
+        names.add(name);
+        histograms.add(histogram);
+    }
+
+    @Override
+    public int getRowCount() {
+        return names.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return HEADER.length;
+    }
+
+    @Override
+    public String getColumnName(int col) {
+        return HEADER[col];
+    }
+
+    @Override
+    public Object getValueAt(int row, int col) {
+        LatencyHistogram histogram = histograms.get(row);
+        if (col == 0) return names.get(row);
+        if (col == 1) return String.format("%.2f", histogram.getMean());
+        if (col == HEADER.length - 1) return histogram.getMax();
+        return histogram.getValueAtPercentile(PERCENTILES[col - 2]);
+    }
+}
@@ -0,0 +1,143 @@
+package algorithms;
+
+import java.util.concurrent.CancellationException;
+
+// State and main loop of PolicyScheduler. The state lives in fields instead of locals so that
+// WhatIfSession can take checkpoints of a run and resume a run from one.
+class PolicyEngine {
+
+    interface LoopListener {
+        // called at the top of every loop iteration, before the arrivals at currTime are added;
+        // returning true stops the run
+        boolean atLoopTop(PolicyEngine engine);
+    }
+
+    final Workload workload;
+    final ProcessTable table;
+    final ReadyQueue readyQueue;
+    final boolean preemptive;
+    final SwitchCost switchCost;
+    final int[] arrivals;
+    final Timeline ganttChart;
+
+    long currTime;
+    int completedProcess;
+    int nextArrival;
+    int currentPid = Timeline.IDLE;
+    long startBlock;
+    int running = -1;
+    // the process whose context is on the CPU, and whether running still waits to start
+    int loaded = -1;
+    boolean dispatching;
+    long contextSwitches;
+    long overheadTime;
+
+    PolicyEngine(SchedulingPolicy policy, SwitchCost switchCost, Workload workload, ProcessTable table, int[] arrivals, Timeline ganttChart) {
+        this.workload = workload;
+        this.table = table;
+        this.readyQueue = policy.newReadyQueue(table);
+        this.preemptive = policy.isPreemptive();
+        this.switchCost = switchCost;
+        this.arrivals = arrivals;
+        this.ganttChart = ganttChart;
+    }
+
+    // true when the listener stopped the run before every process completed
+    boolean run(SimulationMonitor monitor, LoopListener listener) {
+        int[] remaining = table.remaining;
+        int total = table.size();
+        int steps = 0;
+
+        while (completedProcess < total) {
+            if (++steps % Scheduler.CHECK_INTERVAL == 0) {
+                if (monitor.isCancelled()) throw new CancellationException();
+                monitor.progress(completedProcess, total);
+            }
+            if (listener != null && listener.atLoopTop(this)) return true;
+
+            while (nextArrival < total && table.getArrivalTime(arrivals[nextArrival]) <= currTime) {
+                int p = arrivals[nextArrival];
+                table.arrived(p);
+                readyQueue.add(p, currTime);
+                nextArrival++;
+            }
+            // put the running process back so an arrival can preempt it
+            if (running >= 0) readyQueue.add(running, currTime);
+
+            int previous = running;
+            running = readyQueue.isEmpty() ? -1 : readyQueue.poll(currTime);
+            if (running != previous) {
+                if (previous >= 0 && !dispatching) table.readySince.set(previous, currTime);
+                dispatching = running >= 0;
+            }
+            int nextPid = running >= 0 ? table.getPid(running) : Timeline.IDLE;
+
+            if (nextPid != currentPid) {
+                if (currTime > 0) {
+                    ganttChart.add(currentPid, startBlock, currTime);
+                }
+                currentPid = nextPid;
+                startBlock = currTime;
+            }
+
+            if (running < 0) {
+                currTime = table.getArrivalTime(arrivals[nextArrival]);
+                continue;
+            }
+
+            if (running != loaded) {
+                int overhead = 0;
+                if (loaded >= 0) {
+                    contextSwitches++;
+                    overhead = switchCost.overhead(table.firstRunTime.get(running) >= 0);
+                }
+                loaded = running;
+                if (overhead > 0) {
+                    ganttChart.add(Timeline.OVERHEAD, currTime, currTime + overhead);
+                    overheadTime += overhead;
+                    currTime += overhead;
+                    startBlock = currTime;
+                    // only an arrival during the switch can change the choice, anything else would
+                    // let aging processes switch back and forth without ever running
+                    if (nextArrival < total && table.getArrivalTime(arrivals[nextArrival]) <= currTime) continue;
+                }
+            }
+            if (dispatching) {
+                table.dispatched(running, currTime);
+                dispatching = false;
+            }
+
+            // nothing changes until it finishes, its slice ends or (if preemptive) the next arrival
+            int slice = Math.min(remaining[running], readyQueue.sliceFor(running, currTime));
+            long eventTime = currTime + slice;
+            if (preemptive && nextArrival < total && table.getArrivalTime(arrivals[nextArrival]) < eventTime) {
+                eventTime = table.getArrivalTime(arrivals[nextArrival]);
+            }
+            int ran = (int) (eventTime - currTime);
+            remaining[running] -= ran;
+            currTime = eventTime;
+
+            if (remaining[running] == 0) {
+                completedProcess++;
+                table.completedTime.set(running, currTime);
+                running = -1;
+            } else {
+                boolean sliceExpired = ran == slice;
+                readyQueue.ran(running, ran, sliceExpired);
+                if (sliceExpired) {
+                    table.readySince.set(running, currTime);
+                    readyQueue.add(running, currTime);
+                    running = -1;
+                }
+            }
+        }
+        //last process
+        ganttChart.add(currentPid, startBlock, currTime);
+        return false;
+    }
+
+    ScheduleResult result() {
+        ganttChart.trimToSize();
+        return new ScheduleResult(table, ganttChart, contextSwitches, overheadTime);
+    }
+}
@@ -0,0 +1,46 @@
+package algorithms;
+
+// Event loop shared by the CPU scheduling policies. It jumps from event to event (arrival,
+// completion, end of a time slice) and leaves the choice of the next process to the ready queue.
+// Switching to another process costs the SwitchCost; the switch is drawn as an OVERHEAD segment
+// and the choice is made again once it is done if a process arrived meanwhile.
+public class PolicyScheduler implements Scheduler {
+    private final SchedulingPolicy policy;
+    private final SwitchCost switchCost;
+
+    public PolicyScheduler(SchedulingPolicy policy) {
+        this(policy, SwitchCost.NONE);
+    }
+
+    public PolicyScheduler(SchedulingPolicy policy, SwitchCost switchCost) {
+        this.policy = policy;
+        this.switchCost = switchCost;
+    }
+
+    public SchedulingPolicy getPolicy() {
+        return policy;
+    }
+
+    public SwitchCost getSwitchCost() {
+        return switchCost;
+    }
+
+    @Override
+    public String getName() {
+        if (switchCost.isFree()) return policy.getName();
+        return policy.getName() + " (" + switchCost + ")";
+    }
+
+    @Override
+    public String getCacheKey() {
+        String policyKey = policy.getCacheKey();
+        return policyKey == null ? null : policyKey + " " + switchCost.getCacheKey();
+    }
+
+    @Override
+    public ScheduleResult simulate(Workload workload, SimulationMonitor monitor) {
+        PolicyEngine engine = new PolicyEngine(policy, switchCost, workload, new ProcessTable(workload), workload.getArrivalOrder(), new Timeline());
+        engine.run(monitor, null);
+        return engine.result();
+    }
+}
@@ -7,12 +7,24 @@ import javax.swing.text.NumberFormatter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.nio.file.Path;
 import java.text.NumberFormat;
 
 // Santos
 public class PreemptivePriority implements OperatingSystemAlgorithm {
 
     
+    private Scheduler scheduler = new PPScheduler();
+    // set without aging, then single processes of the result can be changed and re-simulated
+    private WhatIfSession session;
+
+    private static final String[] RESULT_HEADER = {"Process", "AT", "BT", "Priority", "CT", "Turnaround", "Waiting", "Response", "Longest Wait"};
+
+    private final Color[] ganttColors = {
+        Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE, 
+        Color.MAGENTA, Color.CYAN, Color.PINK, Color.YELLOW
+    };
+
     // run method variables
     private int num;
     private JDialog inputDialog;
@@ -23,15 +35,22 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
     private JPanel btnPanel;
 
     // results window variables
+    private ScheduleResult currentResult;
     private JFrame resultFrame;
     private JTable resultTable;
-    private DefaultTableModel resultTableModel;
+    private ProcessResultTableModel resultTableModel;
     private JScrollPane tableScroll;
-    private PPGanttChartPanel ganttPanel;
+    private GanttChartPanel ganttPanel;
     private JPanel footerPanel;
     private JPanel labelsPanel;
     private JLabel labelAvgTAT;
     private JLabel labelAvgWT;
+    private JLabel labelMaxWait;
+    private JLabel labelUtilization;
+    private JLabel labelWhatIf;
+    private JTable percentileTable;
+    private JButton btnWhatIf;
+    private JButton btnExport;
     private JButton btnBack;
 
     @Override
@@ -48,6 +67,29 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
 
     @Override
     public void run() {
+        String agingInput = JOptionPane.showInputDialog(null, "Aging interval, waiting this long raises the priority by 1 (leave blank for no aging):", "Preemptive Priority", JOptionPane.QUESTION_MESSAGE);
+        if (agingInput == null) return;
+        String costInput = JOptionPane.showInputDialog(null, "Context switch cost and cache reload penalty (e.g. 1, 2; leave blank for none):", "Preemptive Priority", JOptionPane.QUESTION_MESSAGE);
+        if (costInput == null) return;
+        try {
+            int agingInterval = agingInput.trim().isEmpty() ? 0 : Integer.parseInt(agingInput.trim());
+            if (agingInterval < 0) throw new IllegalArgumentException("Aging interval cannot be negative: " + agingInterval);
+            SwitchCost switchCost = SwitchCost.parse(costInput);
+            scheduler = new CachingScheduler(agingInterval > 0 ? new PolicyScheduler(new AgingPolicy(agingInterval), switchCost) : new PPScheduler(switchCost),
+                    ResultCache.shared());
+            // what-if checkpoints rebuild the ready queue from the processes alone, aging also keeps
+            // the boost each process has earned
+            session = agingInterval > 0 ? null : new WhatIfSession((HeapPolicy) SchedulingPolicy.PREEMPTIVE_PRIORITY, switchCost);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(null, "Please enter valid non-negative numbers. (e.g. 5)", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        if (TraceFileChooser.askImport("Preemptive Priority")) {
+            runImported();
+            return;
+        }
+
         String numInput = JOptionPane.showInputDialog(null, "Enter number of processes: (e.g. 5)", "Preemptive Priority", JOptionPane.QUESTION_MESSAGE);
        
         if (numInput == null) return;
@@ -117,7 +159,11 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
             public void actionPerformed(ActionEvent e) {
                 if (table.isEditing()) table.getCellEditor().stopCellEditing();
 
-                PPProcess[] processes = new PPProcess[num]; 
+                int[] pids = new int[num];
+                int[] arrivalTimes = new int[num];
+                int[] burstTimes = new int[num];
+                int[] priorities = new int[num];
+                Workload workload;
                 try {
                     for (int i = 0; i < num; i++) {
                         Object atObj = tableModel.getValueAt(i, 1);
@@ -130,16 +176,19 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
                         int bt = Integer.parseInt(btObj.toString());
                         int pr = Integer.parseInt(prioObj.toString());
 
-                        processes[i] = new PPProcess(i + 1, at, bt, pr);
+                        pids[i] = i + 1;
+                        arrivalTimes[i] = at;
+                        burstTimes[i] = bt;
+                        priorities[i] = pr;
                     }
+                    workload = new Workload(pids, arrivalTimes, burstTimes, priorities);
                 } catch (Exception err) {
                     JOptionPane.showMessageDialog(inputDialog, "Please fill all fields with valid numbers.", "Error", JOptionPane.ERROR_MESSAGE);
                     return;
                 }
 
-                PPGanttChart[] ganttChart = runPPAlgo(processes);
-                showResult(ganttChart, processes);         
                 inputDialog.dispose();
+                SimulationWorker.start("Preemptive Priority", monitor -> simulate(workload, monitor), PreemptivePriority.this::showResult);
             }
         });
         
@@ -148,99 +197,88 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
         inputDialog.setVisible(true);
     }
 
-    private PPGanttChart[] runPPAlgo(PPProcess[] processes) {
-        PPGanttChart[] ganttChart = new PPGanttChart[1000]; 
-        int ganttIndex = 0; 
-
-        int total = processes.length;
-        int currTime = 0;
-        int completedProcess = 0;
-        int currentPid = -1;
-        int startBlock = 0;
-
-        while (completedProcess < total) {
-            PPProcess bestProcess = null;
-            for (PPProcess p : processes) {
-                if (p.arrivalTime <= currTime && !p.isComplete) {
-                    if (bestProcess == null) bestProcess = p;
-                    else if (p.priority < bestProcess.priority) 
-                        bestProcess = p;
-                    else if (p.priority == bestProcess.priority && p.arrivalTime < bestProcess.arrivalTime) 
-                        bestProcess = p;
-                    else if (p.priority == bestProcess.priority && p.arrivalTime == bestProcess.arrivalTime && p.remainingBurstTime < bestProcess.remainingBurstTime) 
-                        bestProcess = p;
-                    else if (p.priority == bestProcess.priority && p.arrivalTime == bestProcess.arrivalTime && p.remainingBurstTime == bestProcess.remainingBurstTime && p.pid < bestProcess.pid) 
-                        bestProcess = p;
-                }
-            }
+    private void runImported() {
+        Path file = TraceFileChooser.choose(null);
+        if (file == null) return;
 
-            int nextPid;
-            if (bestProcess != null) nextPid = bestProcess.pid;
-            else nextPid = -1;
-            
-            //if natapos or napalitan yung process, iadd ung current process sa gantt
-            if (nextPid != currentPid) {
-                if (currTime > 0) {
-                    ganttChart[ganttIndex] = new PPGanttChart(currentPid, startBlock, currTime);
-                    ganttIndex++;
-                }
-                currentPid = nextPid;
-                startBlock = currTime;
-            }
+        SimulationWorker.start("Preemptive Priority", monitor -> simulate(TraceImporter.readWorkload(file), monitor), this::showResult);
+    }
 
-            if (bestProcess == null) {
-                currTime++;
-            } 
-            else {
-                bestProcess.remainingBurstTime--;
-                currTime++;
-                if (bestProcess.remainingBurstTime == 0) {
-                    bestProcess.isComplete = true;
-                    completedProcess++;
-                    bestProcess.completedTime = currTime;
-                    bestProcess.turnAroundTime = bestProcess.completedTime - bestProcess.arrivalTime;
-                    bestProcess.waitingTime = bestProcess.turnAroundTime - bestProcess.burstTime;
-                }
+    private ScheduleResult simulate(Workload workload, SimulationMonitor monitor) {
+        return session != null ? session.simulate(workload, monitor) : scheduler.simulate(workload, monitor);
+    }
+
+    // asks for one process and its new values, then re-simulates only what the change affects
+    private void whatIf() {
+        Workload workload = session.getWorkload();
+        String pidInput = JOptionPane.showInputDialog(resultFrame, "Process to change: (e.g. P3)", "What If", JOptionPane.QUESTION_MESSAGE);
+        if (pidInput == null) return;
+        try {
+            int pid = Integer.parseInt(pidInput.trim().replaceFirst("^[Pp]", ""));
+            int i = -1;
+            for (int k = 0; k < workload.size() && i < 0; k++) {
+                if (workload.getPid(k) == pid) i = k;
             }
+            if (i < 0) {
+                JOptionPane.showMessageDialog(resultFrame, "There is no process P" + pid + ".", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            String atInput = JOptionPane.showInputDialog(resultFrame, "Arrival Time of P" + pid + ":", workload.getArrivalTime(i));
+            if (atInput == null) return;
+            String btInput = JOptionPane.showInputDialog(resultFrame, "Burst Time of P" + pid + ":", workload.getBurstTime(i));
+            if (btInput == null) return;
+            String prInput = JOptionPane.showInputDialog(resultFrame, "Priority of P" + pid + ":", workload.getPriority(i));
+            if (prInput == null) return;
+
+            int index = i;
+            long at = Long.parseLong(atInput.trim());
+            int bt = Integer.parseInt(btInput.trim());
+            int pr = Integer.parseInt(prInput.trim());
+            SimulationWorker.start("Preemptive Priority", monitor -> session.update(index, at, bt, pr, monitor), this::updateResult);
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(resultFrame, "Please enter valid numbers.", "Error", JOptionPane.ERROR_MESSAGE);
         }
-        //last process
-        ganttChart[ganttIndex] = new PPGanttChart(currentPid, startBlock, currTime);
-        return ganttChart;
     }
 
-    private void showResult(PPGanttChart[] ganttChart, PPProcess[] processes) {
-        resultFrame = new JFrame("Calculation Results & Gantt Chart");
+    private void updateResult(ScheduleResult result) {
+        currentResult = result;
+        resultTableModel = new ProcessResultTableModel(result, RESULT_HEADER, true);
+        resultTable.setModel(resultTableModel);
+
+        resultFrame.remove(ganttPanel);
+        ganttPanel = new GanttChartPanel(result.getTimeline(), ganttColors);
+        ganttPanel.setBorder(BorderFactory.createTitledBorder("Gantt Chart"));
+        resultFrame.add(ganttPanel, BorderLayout.CENTER);
+
+        setLabels(result);
+        if (session.getLastReuseTime() >= 0) {
+            labelWhatIf.setText("Re-simulated from " + session.getLastResumeTime() + " to " + session.getLastReuseTime() + " ms, the rest of the schedule is unchanged");
+        } else {
+            labelWhatIf.setText("Re-simulated from " + session.getLastResumeTime() + " ms to the end");
+        }
+        resultFrame.revalidate();
+        resultFrame.repaint();
+    }
+
+    private void setLabels(ScheduleResult result) {
+        labelAvgTAT.setText(String.format("Average Turnaround Time: %.2f ms", result.getAverageTurnAroundTime()));
+        labelAvgWT.setText(String.format("Average Waiting Time: %.2f ms", result.getAverageWaitingTime()));
+        labelMaxWait.setText("Longest Wait: " + result.getMaxLongestWait() + " ms");
+        percentileTable.setModel(new PercentileTableModel(result));
+        labelUtilization.setText(String.format("CPU Utilization: %.1f%%   |   Throughput: %.4f processes/ms   |   Context Switches: %d (%.1f%% overhead)",
+                100 * result.getCpuUtilization(), result.getThroughput(), result.getContextSwitches(), 100 * result.getOverheadRatio()));
+    }
+
+    private void showResult(ScheduleResult result) {
+        currentResult = result;
+        resultFrame = new JFrame(scheduler.getName() + " Results & Gantt Chart");
         resultFrame.setSize(900, 650); 
         resultFrame.setLocationRelativeTo(null);
         resultFrame.setAlwaysOnTop(true);
         resultFrame.setLayout(new BorderLayout());
 
-        String[] header = {"Process", "AT", "BT", "Priority", "CT", "Turnaround", "Waiting"};
-        Object[][] tableCells = new Object[processes.length][7];
-        
-        double totalTAT = 0;
-        double totalWT = 0;
-
-        for (int i = 0; i < processes.length; i++) {
-            PPProcess p = processes[i];
-            tableCells[i][0] = "P" + p.pid;
-            tableCells[i][1] = p.arrivalTime;
-            tableCells[i][2] = p.burstTime;
-            tableCells[i][3] = p.priority;
-            tableCells[i][4] = p.completedTime;
-            tableCells[i][5] = p.turnAroundTime;
-            tableCells[i][6] = p.waitingTime;
-            
-            totalTAT += p.turnAroundTime;
-            totalWT += p.waitingTime;
-        }
-
-        resultTableModel = new DefaultTableModel(tableCells, header) {
-            @Override
-            public boolean isCellEditable(int row, int col) { 
-                return false; 
-            } 
-        };
+        resultTableModel = new ProcessResultTableModel(result, RESULT_HEADER, true);
         
         resultTable = new JTable(resultTableModel);
         resultTable.setRowHeight(25);
@@ -250,7 +288,7 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
         tableScroll.setPreferredSize(new Dimension(800, 200));
         tableScroll.setBorder(BorderFactory.createTitledBorder("Final Process Table"));
 
-        ganttPanel = new PPGanttChartPanel(ganttChart);
+        ganttPanel = new GanttChartPanel(result.getTimeline(), ganttColors);
         ganttPanel.setBorder(BorderFactory.createTitledBorder("Gantt Chart"));
         
         footerPanel = new JPanel();
@@ -261,25 +299,61 @@ public class PreemptivePriority implements OperatingSystemAlgorithm {
         labelsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 50, 10));
         labelsPanel.setOpaque(false);
         
-        labelAvgTAT = new JLabel(String.format("Average Turnaround Time: %.2f ms", totalTAT / processes.length));
+        labelAvgTAT = new JLabel();
         labelAvgTAT.setFont(new Font("SansSerif", Font.BOLD, 16));
         labelAvgTAT.setForeground(new Color(0, 102, 204)); 
         
-        labelAvgWT = new JLabel(String.format("Average Waiting Time: %.2f ms", totalWT / processes.length));
+        labelAvgWT = new JLabel();
         labelAvgWT.setFont(new Font("SansSerif", Font.BOLD, 16));
         labelAvgWT.setForeground(new Color(204, 51, 0)); 
 
+        labelMaxWait = new JLabel();
+        labelMaxWait.setFont(new Font("SansSerif", Font.BOLD, 16));
+        labelMaxWait.setForeground(new Color(120, 60, 160));
+
         labelsPanel.add(labelAvgTAT);
         labelsPanel.add(labelAvgWT);
+        labelsPanel.add(labelMaxWait);
+
+        labelUtilization = new JLabel();
+        labelUtilization.setFont(new Font("SansSerif", Font.BOLD, 13));
+        labelUtilization.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        percentileTable = new JTable();
+        JScrollPane percentileScroll = new JScrollPane(percentileTable);
+        percentileScroll.setPreferredSize(new Dimension(800, 95));
+        percentileScroll.setBorder(BorderFactory.createTitledBorder("Percentiles (ms)"));
+        setLabels(result);
+
+        labelWhatIf = new JLabel(session != null ? " " : "What If is not available with aging, run without an aging interval to use it");
+        labelWhatIf.setFont(new Font("SansSerif", Font.ITALIC, 12));
+        labelWhatIf.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         btnBack = new JButton("Back to Home");
         btnBack.setFont(new Font("SansSerif", Font.BOLD, 14));
         btnBack.setAlignmentX(Component.CENTER_ALIGNMENT);
         btnBack.addActionListener(e -> resultFrame.dispose()); 
 
+        btnWhatIf = new JButton("What If...");
+        btnWhatIf.setFont(new Font("SansSerif", Font.BOLD, 14));
+        btnWhatIf.setToolTipText(session != null ? "Change one process and see the new schedule" : "Not available with aging");
+        btnWhatIf.setEnabled(session != null);
+        btnWhatIf.addActionListener(e -> whatIf());
+
+        btnExport = ExportDialog.createButton(resultFrame, () -> currentResult);
+
+        JPanel buttonsPanel = new JPanel();
+        buttonsPanel.setOpaque(false);
+        buttonsPanel.add(btnWhatIf);
+        buttonsPanel.add(btnExport);
+        buttonsPanel.add(btnBack);
+
         footerPanel.add(labelsPanel);
+        footerPanel.add(labelUtilization);
+        footerPanel.add(percentileScroll);
+        footerPanel.add(labelWhatIf);
         footerPanel.add(Box.createVerticalStrut(10));
-        footerPanel.add(btnBack);
+        footerPanel.add(buttonsPanel);
 
         resultFrame.add(tableScroll, BorderLayout.NORTH);
         resultFrame.add(ganttPanel, BorderLayout.CENTER);
@@ -0,0 +1,52 @@
+package algorithms;
+
+import javax.swing.table.AbstractTableModel;
+
+// Reads the cells straight from a ScheduleResult, so imported traces with millions of
+// processes do not need an Object[][] copy of the whole table.
+public class ProcessResultTableModel extends AbstractTableModel {
+    private final ScheduleResult result;
+    private final String[] header;
+    private final boolean showPriority;
+
+    // header has 7 columns when showPriority is set, 6 otherwise, plus Response and
+    // Longest Wait at the end when the result has starvation metrics
+    public ProcessResultTableModel(ScheduleResult result, String[] header, boolean showPriority) {
+        this.result = result;
+        this.header = header;
+        this.showPriority = showPriority;
+    }
+
+    @Override
+    public int getRowCount() {
+        return result.getWorkload().size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return header.length;
+    }
+
+    @Override
+    public String getColumnName(int col) {
+        return header[col];
+    }
+
+    @Override
+    public Object getValueAt(int row, int col) {
+        Workload processes = result.getWorkload();
+        if (!showPriority && col >= 3) col++;
+
+        switch (col) {
+            case 0: return "P" + processes.getPid(row);
+            case 1: return processes.getArrivalTime(row);
+            case 2: return processes.getBurstTime(row);
+            case 3: return processes.getPriority(row);
+            case 4: return result.getCompletedTime(row);
+            case 5: return result.getTurnAroundTime(row);
+            case 6: return result.getWaitingTime(row);
+            case 7: return result.getResponseTime(row);
+            default: return result.getLongestWait(row);
+        }
+    }
+}
@@ -1,13 +0,0 @@
-package algorithms;
-
-public class RRGanttChart {
-    String pid;
-    int startTime;
-    int endTime;
-
-    public RRGanttChart (String pid, int startTime, int endTime) {
-        this.pid = pid;
-        this.startTime = startTime;
-        this.endTime = endTime;
-    }
-}
\ No newline at end of file
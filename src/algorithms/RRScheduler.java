@@ -0,0 +1,449 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+// Round Robin over the processes of an ArrivalStream. A Workload runs on its ProcessTable and
+// gives a ScheduleResult; any other stream keeps only the processes that have arrived and are not
+// finished in memory and hands segments and finished processes to a ScheduleSink as they are known.
+// Both are the same loop, see Run.
+public class RRScheduler implements Scheduler {
+    private final int tq;
+    private final SwitchCost switchCost;
+
+    public RRScheduler(int tq) {
+        this(tq, SwitchCost.NONE);
+    }
+
+    public RRScheduler(int tq, SwitchCost switchCost) {
+        if (tq < 1) throw new IllegalArgumentException("Time quantum must be at least 1");
+        this.tq = tq;
+        this.switchCost = switchCost;
+    }
+
+    public int getTimeQuantum() {
+        return tq;
+    }
+
+    public SwitchCost getSwitchCost() {
+        return switchCost;
+    }
+
+    @Override
+    public String getName() {
+        if (switchCost.isFree()) return "Round Robin (TQ = " + tq + ")";
+        return "Round Robin (TQ = " + tq + ", " + switchCost + ")";
+    }
+
+    @Override
+    public String getCacheKey() {
+        return "rr " + tq + " " + switchCost.getCacheKey();
+    }
+
+    @Override
+    public ScheduleResult simulate(Workload workload, SimulationMonitor monitor) {
+        ProcessTable table = new ProcessTable(workload);
+        Timeline ganttChart = new Timeline();
+        TableRun run = new TableRun(workload, table, ganttChart);
+        run.run(monitor);
+        ganttChart.trimToSize();
+        return new ScheduleResult(table, ganttChart, run.contextSwitches, run.overheadTime);
+    }
+
+    // arrivals must be sorted by arrival time; memory is bounded by the processes in the system at
+    // once, not by the length of the stream
+    public void simulate(ArrivalStream arrivals, ScheduleSink sink, SimulationMonitor monitor) throws IOException {
+        StreamRun run = new StreamRun(arrivals, sink);
+        try {
+            run.run(monitor);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        run.flush();
+    }
+
+    // The Round Robin loop over process slots. Which process a slot is, where the processes come
+    // from and where the schedule goes is up to the subclass; the per-process state is in the
+    // columns below, indexed by slot.
+    private abstract class Run {
+        // loaded when the process that ran last has finished
+        private static final int FINISHED = Integer.MAX_VALUE;
+
+        int[] remaining;
+        TimeColumn firstRunTime;
+        TimeColumn longestWait;
+        TimeColumn readySince;
+
+        // ready queue as a ring buffer of slots
+        private int[] queue;
+        private int head;
+        private int queued;
+
+        long contextSwitches;
+        long overheadTime;
+
+        Run(int queueCapacity) {
+            queue = new int[Math.max(queueCapacity, 1)];
+        }
+
+        abstract boolean hasArrival();
+
+        abstract long nextArrivalTime();
+
+        // the next arrival enters the system, returns its slot with the columns reset
+        abstract int admit();
+
+        abstract int pidOf(int slot);
+
+        abstract void segment(int pid, long startTime, long endTime);
+
+        abstract void rounds(int[] pids, long startTime, int quantum, int overhead, int rounds);
+
+        // called once the process in slot is done with it, the slot may be reused afterwards
+        abstract void finished(int slot, long completedTime);
+
+        // number of processes for the progress, -1 if unknown
+        abstract long total();
+
+        void run(SimulationMonitor monitor) {
+            long currentTime = 0;
+            long completed = 0;
+            // the process that ran last, switching away from it costs switchCost
+            int loaded = -1;
+            int resumeOverhead = switchCost.overhead(true);
+            // slices run since the last fast-forward check, so the check costs O(1) per slice on average
+            int slicesSinceCheck = Integer.MAX_VALUE;
+
+            if (hasArrival() && nextArrivalTime() > currentTime) {
+                currentTime = nextArrivalTime();
+            }
+
+            int steps = 0;
+
+            while (queued > 0 || hasArrival()) {
+                if (++steps % CHECK_INTERVAL == 0) {
+                    if (monitor.isCancelled()) throw new CancellationException();
+                    monitor.progress(completed, total());
+                }
+
+                admitArrivals(currentTime);
+
+                if (queued == 0) {
+                    long nextTime = nextArrivalTime();
+                    segment(Timeline.IDLE, currentTime, nextTime);
+                    currentTime = nextTime;
+                    enqueue(admit());
+                }
+
+                // if nobody finishes and nobody arrives during the next k full rounds, the queue order
+                // is the same after them, so all k rounds can be applied at once
+                if (slicesSinceCheck >= queued) {
+                    slicesSinceCheck = 0;
+
+                    int minRemaining = Integer.MAX_VALUE;
+                    boolean allResumed = true;
+                    for (int j = 0; j < queued; j++) {
+                        int p = queue[(head + j) % queue.length];
+                        minRemaining = Math.min(minRemaining, remaining[p]);
+                        allResumed &= firstRunTime.get(p) >= 0;
+                    }
+
+                    // every slice of the rounds must cost the same switch overhead: none, because only
+                    // one process keeps running, or the full resume cost, because they all ran before
+                    int first = queue[head];
+                    int overhead = 0;
+                    boolean uniform = true;
+                    if (!switchCost.isFree() && !(queued == 1 && first == loaded)) {
+                        overhead = resumeOverhead;
+                        uniform = queued > 1 && loaded >= 0 && allResumed;
+                    }
+
+                    long rounds = uniform ? (minRemaining - 1) / tq : 0;
+                    if (hasArrival()) {
+                        long untilArrival = nextArrivalTime() - currentTime - 1;
+                        rounds = Math.min(rounds, untilArrival / ((long) queued * (tq + overhead)));
+                    }
+
+                    if (rounds > 0) {
+                        int[] pids = new int[queued];
+                        int slice = tq + overhead;
+                        // between two of its rounds a process waits for the others and its own switch
+                        long roundWait = rounds > 1 ? (long) queued * slice - tq : 0;
+                        for (int j = 0; j < queued; j++) {
+                            int p = queue[(head + j) % queue.length];
+                            long firstStart = currentTime + (long) j * slice + overhead;
+                            if (firstRunTime.get(p) < 0) firstRunTime.set(p, firstStart);
+                            longestWait.set(p, Math.max(longestWait.get(p), Math.max(firstStart - readySince.get(p), roundWait)));
+                            readySince.set(p, firstStart + (rounds - 1) * queued * slice + tq);
+                            remaining[p] -= (int) rounds * tq;
+                            pids[j] = pidOf(p);
+                        }
+                        rounds(pids, currentTime, tq, overhead, (int) rounds);
+                        currentTime += rounds * queued * slice;
+
+                        long switches = (queued > 1 ? rounds * queued - 1 : 0) + (first != loaded && loaded >= 0 ? 1 : 0);
+                        contextSwitches += switches;
+                        overheadTime += switches * overhead;
+                        loaded = queue[(head + queued - 1) % queue.length];
+                    }
+                }
+
+                int p = queue[head];
+                head = (head + 1) % queue.length;
+                queued--;
+
+                if (p != loaded) {
+                    if (loaded >= 0) {
+                        int overhead = switchCost.overhead(firstRunTime.get(p) >= 0);
+                        contextSwitches++;
+                        segment(Timeline.OVERHEAD, currentTime, currentTime + overhead);
+                        overheadTime += overhead;
+                        currentTime += overhead;
+                    }
+                    loaded = p;
+                }
+                long start = currentTime;
+                if (firstRunTime.get(p) < 0) firstRunTime.set(p, start);
+                long wait = start - readySince.get(p);
+                if (wait > longestWait.get(p)) longestWait.set(p, wait);
+
+                if (remaining[p] > tq) {
+                    remaining[p] -= tq;
+                    currentTime += tq;
+                } else {
+                    currentTime += remaining[p];
+                    remaining[p] = 0;
+                }
+                slicesSinceCheck++;
+
+                segment(pidOf(p), start, currentTime);
+
+                // arrivals go before the preempted process; a finished one gives up its slot only
+                // after them, so none of them takes it while p is still looked at
+                admitArrivals(currentTime);
+
+                if (remaining[p] > 0) {
+                    readySince.set(p, currentTime);
+                    enqueue(p);
+                } else {
+                    finished(p, currentTime);
+                    completed++;
+                    // the slot may now go to another process, which must still pay the switch
+                    loaded = FINISHED;
+                }
+            }
+        }
+
+        private void admitArrivals(long time) {
+            while (hasArrival() && nextArrivalTime() <= time) enqueue(admit());
+        }
+
+        private void enqueue(int slot) {
+            if (queued == queue.length) {
+                // unwrap the ring into a larger array
+                int[] grown = new int[queue.length * 2];
+                int firstPart = Math.min(queued, queue.length - head);
+                System.arraycopy(queue, head, grown, 0, firstPart);
+                System.arraycopy(queue, 0, grown, firstPart, queued - firstPart);
+                queue = grown;
+                head = 0;
+            }
+            queue[(head + queued) % queue.length] = slot;
+            queued++;
+        }
+    }
+
+    // a Workload: the slot is the process index, the state is in its ProcessTable
+    private class TableRun extends Run {
+        private final Workload workload;
+        private final ProcessTable table;
+        private final Timeline ganttChart;
+        private final WorkloadArrivalStream arrivals;
+        private boolean hasNext;
+
+        TableRun(Workload workload, ProcessTable table, Timeline ganttChart) {
+            // the ready queue never holds more than every process
+            super(workload.size());
+            this.workload = workload;
+            this.table = table;
+            this.ganttChart = ganttChart;
+            this.arrivals = new WorkloadArrivalStream(workload);
+            this.hasNext = arrivals.next();
+            remaining = table.remaining;
+            firstRunTime = table.firstRunTime;
+            longestWait = table.longestWait;
+            readySince = table.readySince;
+        }
+
+        @Override
+        boolean hasArrival() {
+            return hasNext;
+        }
+
+        @Override
+        long nextArrivalTime() {
+            return arrivals.getArrivalTime();
+        }
+
+        @Override
+        int admit() {
+            int p = arrivals.getIndex();
+            table.arrived(p);
+            hasNext = arrivals.next();
+            return p;
+        }
+
+        @Override
+        int pidOf(int slot) {
+            return workload.getPid(slot);
+        }
+
+        @Override
+        void segment(int pid, long startTime, long endTime) {
+            ganttChart.add(pid, startTime, endTime);
+        }
+
+        @Override
+        void rounds(int[] pids, long startTime, int quantum, int overhead, int rounds) {
+            ganttChart.addRounds(pids, startTime, quantum, overhead, rounds);
+        }
+
+        @Override
+        void finished(int slot, long completedTime) {
+            table.completedTime.set(slot, completedTime);
+        }
+
+        @Override
+        long total() {
+            return workload.size();
+        }
+    }
+
+    // any other stream: slots are handed out on arrival and taken back when the process finishes,
+    // so the columns grow to the largest number of processes in the system at once
+    private class StreamRun extends Run {
+        private final ArrivalStream arrivals;
+        private final ScheduleSink sink;
+        private boolean hasNext;
+
+        private int[] pid = new int[16];
+        private long[] arrivalTime = new long[16];
+        private int[] burstTime = new int[16];
+        // slots given back, reused before new ones
+        private int[] free = new int[16];
+        private int freeCount;
+        private int slots;
+
+        // the last segment is held back so slices of the same pid reach the sink merged
+        private int pendingPid;
+        private long pendingStart;
+        private long pendingEnd;
+        private boolean pending;
+
+        StreamRun(ArrivalStream arrivals, ScheduleSink sink) throws IOException {
+            super(16);
+            this.arrivals = arrivals;
+            this.sink = sink;
+            remaining = new int[16];
+            firstRunTime = new TimeColumn(16);
+            longestWait = new TimeColumn(16);
+            readySince = new TimeColumn(16);
+            hasNext = arrivals.next();
+        }
+
+        @Override
+        boolean hasArrival() {
+            return hasNext;
+        }
+
+        @Override
+        long nextArrivalTime() {
+            return arrivals.getArrivalTime();
+        }
+
+        @Override
+        int admit() {
+            int slot;
+            if (freeCount > 0) {
+                slot = free[--freeCount];
+            } else {
+                if (slots == pid.length) grow();
+                slot = slots++;
+            }
+            pid[slot] = arrivals.getPid();
+            arrivalTime[slot] = arrivals.getArrivalTime();
+            burstTime[slot] = arrivals.getBurstTime();
+            remaining[slot] = burstTime[slot];
+            firstRunTime.set(slot, -1);
+            longestWait.set(slot, 0);
+            readySince.set(slot, arrivalTime[slot]);
+            try {
+                hasNext = arrivals.next();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int capacity = pid.length * 2;
+            pid = Arrays.copyOf(pid, capacity);
+            arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+            burstTime = Arrays.copyOf(burstTime, capacity);
+            free = Arrays.copyOf(free, capacity);
+            remaining = Arrays.copyOf(remaining, capacity);
+            firstRunTime = firstRunTime.copyOf(capacity);
+            longestWait = longestWait.copyOf(capacity);
+            readySince = readySince.copyOf(capacity);
+        }
+
+        @Override
+        int pidOf(int slot) {
+            return pid[slot];
+        }
+
+        @Override
+        void segment(int pid, long startTime, long endTime) {
+            if (endTime <= startTime) return;
+            if (pending && pendingPid == pid && pendingEnd == startTime) {
+                pendingEnd = endTime;
+                return;
+            }
+            flush();
+            pendingPid = pid;
+            pendingStart = startTime;
+            pendingEnd = endTime;
+            pending = true;
+        }
+
+        @Override
+        void rounds(int[] pids, long startTime, int quantum, int overhead, int rounds) {
+            // one process alone is one segment, merged like Timeline.addRounds does
+            if (pids.length == 1 && overhead == 0) {
+                segment(pids[0], startTime, startTime + (long) quantum * rounds);
+                return;
+            }
+            flush();
+            sink.rounds(pids, startTime, quantum, overhead, rounds);
+        }
+
+        @Override
+        void finished(int slot, long completedTime) {
+            sink.completed(pid[slot], arrivalTime[slot], burstTime[slot], completedTime);
+            free[freeCount++] = slot;
+        }
+
+        @Override
+        long total() {
+            return arrivals.getCount();
+        }
+
+        void flush() {
+            if (!pending) return;
+            sink.segment(pendingPid, pendingStart, pendingEnd);
+            pending = false;
+        }
+    }
+}
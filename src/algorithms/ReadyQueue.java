@@ -0,0 +1,25 @@
+package algorithms;
+
+// Ready queue of one simulation run, holding process indices of a ProcessTable.
+// The scheduling policy decides the order and, optionally, how long a process may run.
+// now is the simulation time of the call, policies that age processes need it.
+public interface ReadyQueue {
+    void add(int p, long now);
+
+    // best ready process, it is removed from the queue
+    int poll(long now);
+
+    boolean isEmpty();
+
+    // the queued processes in no particular order
+    int[] toArray();
+
+    // how long p may run from now before the queue wants to decide again
+    default int sliceFor(int p, long now) {
+        return Integer.MAX_VALUE;
+    }
+
+    // p just ran for units, sliceExpired when it used all of its slice without finishing
+    default void ran(int p, int units, boolean sliceExpired) {
+    }
+}
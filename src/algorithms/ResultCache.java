@@ -0,0 +1,542 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Results of earlier runs, keyed by what determines them: the SHA-256 of the scheduler's cache
+// key and the workload's fingerprint. Running the same algorithm with the same parameters on
+// the same processes again returns the stored result instead of simulating it.
+//
+// Results are kept in memory up to maxBytes of estimated heap, least recently used first out.
+// With a spill directory an evicted result is written to a file named after its key instead of
+// dropped, up to maxSpillBytes of files, and read back on the next hit; files of an earlier
+// session in the directory are found again at construction. Spilling is best effort, a result
+// that cannot be written is dropped and a file that cannot be read, or was written for another
+// workload, is a miss. Files are read and written outside the lock, lookups never wait on disk.
+// clear() deletes the files as well. The shared cache only spills when asked to, see shared().
+//
+// Results handed out are shared between callers and must not be modified.
+public class ResultCache {
+    // part of every key, changed whenever an engine starts giving different results
+    public static final int VERSION = 1;
+    public static final int SPILL_MAGIC = 0x4352534F; // "OSRC"
+    public static final int SPILL_VERSION = 2;
+    public static final String DIRECTORY_PROPERTY = "osalgorithms.cache.dir";
+    public static final String SPILL_MB_PROPERTY = "osalgorithms.cache.spillMB";
+    private static final String SPILL_SUFFIX = ".result";
+
+    private static ResultCache shared;
+
+    private final long maxBytes;
+    private final Path spillDirectory;
+    private final long maxSpillBytes;
+
+    // access ordered, so iteration starts at the least recently used
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    // file sizes
+    private final LinkedHashMap<String, Long> spilled = new LinkedHashMap<>(16, 0.75f, true);
+    // results that left memory and are being written to their files
+    private final HashMap<String, ScheduleResult> writing = new HashMap<>();
+    private long bytes;
+    private long spillBytes;
+
+    private long hits;
+    private long spillHits;
+    private long misses;
+    private long evictions;
+    private long spills;
+
+    // in memory only
+    public ResultCache(long maxBytes) {
+        if (maxBytes < 0) throw new IllegalArgumentException("Cache size cannot be negative: " + maxBytes);
+        this.maxBytes = maxBytes;
+        this.spillDirectory = null;
+        this.maxSpillBytes = 0;
+    }
+
+    public ResultCache(long maxBytes, Path spillDirectory, long maxSpillBytes) throws IOException {
+        if (maxBytes < 0 || maxSpillBytes < 0) throw new IllegalArgumentException("Cache size cannot be negative");
+        this.maxBytes = maxBytes;
+        this.spillDirectory = spillDirectory;
+        this.maxSpillBytes = maxSpillBytes;
+        Files.createDirectories(spillDirectory);
+        indexSpillDirectory();
+    }
+
+    // cache of the GUI windows: an eighth of the heap but at most 256 MB, in memory only unless
+    // started with -Dosalgorithms.cache.dir=<directory>, which spills up to 1 GB of files there or
+    // -Dosalgorithms.cache.spillMB=<megabytes>. The files stay between sessions until Clear in
+    // the Result Cache dialog deletes them, or the directory is deleted. Memory only as well if
+    // the directory cannot be used.
+    public static synchronized ResultCache shared() {
+        if (shared == null) {
+            long maxBytes = Math.min(256L << 20, Runtime.getRuntime().maxMemory() / 8);
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            if (directory != null && !directory.isBlank()) {
+                try {
+                    long maxSpillBytes = Long.parseLong(System.getProperty(SPILL_MB_PROPERTY, "1024").trim()) << 20;
+                    shared = new ResultCache(maxBytes, privateDirectory(Path.of(directory)), maxSpillBytes);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Result cache stays in memory, cannot spill to " + directory + ": " + e.getMessage());
+                }
+            }
+            if (shared == null) shared = new ResultCache(maxBytes);
+        }
+        return shared;
+    }
+
+    // results are read back from the spill files, so no one else may write there: the directory
+    // is created owner only and an existing one must belong to the user
+    static Path privateDirectory(Path directory) throws IOException {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return Files.createDirectories(directory);
+        }
+        Set<PosixFilePermission> ownerOnly = PosixFilePermissions.fromString("rwx------");
+        Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(ownerOnly));
+        UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+        if (!Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS).equals(user)) {
+            throw new IOException("Cache directory " + directory + " does not belong to " + user.getName());
+        }
+        Files.setPosixFilePermissions(directory, ownerOnly);
+        return directory;
+    }
+
+    // key of running scheduler on workload, null if the scheduler's results cannot be cached
+    public static String key(Scheduler scheduler, Workload workload) {
+        String schedulerKey = scheduler.getCacheKey();
+        if (schedulerKey == null) return null;
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] text = schedulerKey.getBytes(StandardCharsets.UTF_8);
+        sha.update(new byte[] {(byte) VERSION, (byte) (text.length >>> 24), (byte) (text.length >>> 16), (byte) (text.length >>> 8), (byte) text.length});
+        sha.update(text);
+        sha.update(workload.fingerprint());
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : sha.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    // the result stored under key, null on a miss; workload is the one the key was made from,
+    // a result read back from its file is built on it
+    public ScheduleResult get(String key, Workload workload) {
+        ScheduleResult result;
+        boolean onDisk;
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                hits++;
+                return entry.result;
+            }
+            // a result on its way to its file is taken back as it is
+            result = writing.get(key);
+            onDisk = result == null && spilled.get(key) != null;
+            if (result == null && !onDisk) {
+                misses++;
+                return null;
+            }
+        }
+
+        if (onDisk) {
+            // outside the lock, so other lookups go on while the file is read
+            try {
+                result = readSpill(spillFile(key), workload);
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    misses++;
+                    forgetSpill(key);
+                }
+                deleteSpill(key);
+                return null;
+            }
+        }
+
+        List<String> leaving;
+        synchronized (this) {
+            hits++;
+            if (onDisk) spillHits++;
+            // the file stays, so the result is not written again when it leaves memory
+            leaving = memory.containsKey(key) ? List.of() : keep(key, result);
+        }
+        writeSpills(leaving);
+        return result;
+    }
+
+    public void put(String key, ScheduleResult result) {
+        List<String> leaving;
+        synchronized (this) {
+            if (memory.containsKey(key)) return;
+            leaving = keep(key, result);
+        }
+        writeSpills(leaving);
+    }
+
+    // drops everything, including the spill files
+    public void clear() {
+        List<String> files;
+        synchronized (this) {
+            memory.clear();
+            bytes = 0;
+            files = new ArrayList<>(spilled.keySet());
+            spilled.clear();
+            spillBytes = 0;
+            // files still being written are deleted when they are done
+            writing.clear();
+        }
+        for (String key : files) deleteSpill(key);
+    }
+
+    // null when the cache is in memory only
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    // hits that were read back from a spill file
+    public synchronized long getSpillHits() {
+        return spillHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    // results dropped from the cache altogether
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // results moved from memory to a file
+    public synchronized long getSpills() {
+        return spills;
+    }
+
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public synchronized int getEntries() {
+        return memory.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int getSpillEntries() {
+        return spilled.size();
+    }
+
+    public synchronized long getSpillBytes() {
+        return spillBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        String text = String.format("%d hits (%.1f%%), %d misses, %d evictions; %d results, %.1f MB in memory",
+            hits, 100 * getHitRatio(), misses, evictions, memory.size(), bytes / 1048576.0);
+        if (spillDirectory == null) return text;
+        return text + String.format("; %d spilled, %d results, %.1f MB on disk in %s, %d read back",
+            spills, spilled.size(), spillBytes / 1048576.0, spillDirectory, spillHits);
+    }
+
+    // under the lock; returns the keys of the results that left memory and are to be written
+    private List<String> keep(String key, ScheduleResult result) {
+        List<String> leaving = new ArrayList<>();
+        long size = result.estimateBytes();
+        if (size > maxBytes) {
+            // never fits in memory, at least keep it on disk
+            leave(key, result, leaving);
+            return leaving;
+        }
+        memory.put(key, new Entry(result, size));
+        bytes += size;
+
+        Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            eldest.remove();
+            bytes -= entry.getValue().bytes;
+            leave(entry.getKey(), entry.getValue().result, leaving);
+        }
+        return leaving;
+    }
+
+    // under the lock; queues a result that leaves memory for its file, or drops it
+    private void leave(String key, ScheduleResult result, List<String> leaving) {
+        if (spillDirectory == null) {
+            evictions++;
+            return;
+        }
+        if (spilled.get(key) != null || writing.containsKey(key)) return;
+        writing.put(key, result);
+        leaving.add(key);
+    }
+
+    // outside the lock; a file is listed only once it is complete, so a lookup never reads one
+    // that is still being written
+    private void writeSpills(List<String> keys) {
+        for (String key : keys) {
+            ScheduleResult result;
+            synchronized (this) {
+                result = writing.get(key);
+            }
+            long size = result == null ? -1 : store(key, result);
+
+            List<String> stale;
+            synchronized (this) {
+                if (writing.remove(key) == null) {
+                    // cleared meanwhile
+                    stale = size < 0 ? List.of() : List.of(key);
+                } else if (size < 0) {
+                    if (!memory.containsKey(key)) evictions++;
+                    continue;
+                } else {
+                    spills++;
+                    spilled.put(key, size);
+                    spillBytes += size;
+                    stale = trimSpills();
+                }
+            }
+            for (String staleKey : stale) deleteSpill(staleKey);
+        }
+    }
+
+    // writes result to the file of key, returns its size or -1 if it is too big or cannot be written
+    private long store(String key, ScheduleResult result) {
+        Path file = spillFile(key);
+        Path temporary = spillDirectory.resolve(key + ".tmp");
+        try {
+            writeSpill(temporary, result);
+            long size = Files.size(temporary);
+            if (size > maxSpillBytes) {
+                Files.delete(temporary);
+                return -1;
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // nothing left to do about it
+            }
+            return -1;
+        }
+    }
+
+    // under the lock; unlists the least recently used files past maxSpillBytes and returns their
+    // keys, the files are deleted outside the lock
+    private List<String> trimSpills() {
+        List<String> stale = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> eldest = spilled.entrySet().iterator();
+        while (spillBytes > maxSpillBytes) {
+            Map.Entry<String, Long> entry = eldest.next();
+            String eldestKey = entry.getKey();
+            eldest.remove();
+            spillBytes -= entry.getValue();
+            stale.add(eldestKey);
+            // a result that is still in memory has only lost its copy
+            if (!memory.containsKey(eldestKey)) evictions++;
+        }
+        return stale;
+    }
+
+    private void forgetSpill(String key) {
+        Long size = spilled.remove(key);
+        if (size != null) spillBytes -= size;
+    }
+
+    private void deleteSpill(String key) {
+        try {
+            Files.deleteIfExists(spillFile(key));
+        } catch (IOException ignored) {
+            // a stale file is found again at the next start and replaced when its key is spilled
+        }
+    }
+
+    private Path spillFile(String key) {
+        return spillDirectory.resolve(key + SPILL_SUFFIX);
+    }
+
+    // files of earlier sessions, oldest first so they are evicted first; only regular files named
+    // after a key and starting with the current header are taken, a file of an older format is deleted
+    private void indexSpillDirectory() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, "*" + SPILL_SUFFIX)) {
+            for (Path file : stream) {
+                if (!isKey(keyOf(file)) || !Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) continue;
+                int version = spillVersion(file);
+                if (version == SPILL_VERSION) {
+                    files.add(file);
+                } else if (version > 0) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path file : files) modified.put(file, Files.getLastModifiedTime(file));
+        files.sort(Comparator.comparing(modified::get));
+
+        for (Path file : files) {
+            long size = Files.size(file);
+            spilled.put(keyOf(file), size);
+            spillBytes += size;
+        }
+        Iterator<Map.Entry<String, Long>> eldest = spilled.entrySet().iterator();
+        while (spillBytes > maxSpillBytes) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            spillBytes -= entry.getValue();
+            deleteSpill(entry.getKey());
+        }
+    }
+
+    private static String keyOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SPILL_SUFFIX.length());
+    }
+
+    // 64 lowercase hex digits, as made by key()
+    private static boolean isKey(String name) {
+        if (name.length() != 64) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    // format version of a spill file, 0 if it is not one
+    private static int spillVersion(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) return 0;
+            }
+        }
+        header.flip();
+        return header.getInt() == SPILL_MAGIC ? header.getInt() : 0;
+    }
+
+    private static final class Entry {
+        final ScheduleResult result;
+        final long bytes;
+
+        Entry(ScheduleResult result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+
+    // magic and format version, the fingerprint of the workload, then varints: the kind (0 plain, 1 multi-core), process count, lane
+    // count, context switches, overhead time, for multi-core migrations and migration time,
+    // whether there are starvation metrics; then per process the turnaround time and, with
+    // starvation metrics, the response time and longest wait, all zigzag encoded; then the
+    // timelines with Timeline.writeTo
+    private static void writeSpill(Path file, ScheduleResult result) throws IOException {
+        Workload workload = result.getWorkload();
+        boolean smp = result instanceof SmpScheduleResult;
+        boolean starvation = result.hasStarvationMetrics();
+        try (ResultExporter.Output out = new ResultExporter.Output(file)) {
+            byte[] fingerprint = workload.fingerprint();
+            out.ensure(8 + fingerprint.length);
+            out.buffer.putInt(SPILL_MAGIC).putInt(SPILL_VERSION).put(fingerprint);
+            out.putVarint(smp ? 1 : 0);
+            out.putVarint(workload.size());
+            out.putVarint(result.getCoreCount());
+            out.putVarint(result.getContextSwitches());
+            out.putVarint(result.getOverheadTime());
+            if (smp) {
+                SmpScheduleResult multiCore = (SmpScheduleResult) result;
+                out.putVarint(multiCore.getMigrations());
+                out.putVarint(multiCore.getMigrationTime());
+            }
+            out.putVarint(starvation ? 1 : 0);
+            for (int i = 0; i < workload.size(); i++) {
+                out.putVarint(ResultExporter.zigzag(result.getTurnAroundTime(i)));
+                if (starvation) {
+                    out.putVarint(ResultExporter.zigzag(result.getResponseTime(i)));
+                    out.putVarint(ResultExporter.zigzag(result.getLongestWait(i)));
+                }
+            }
+            for (int lane = 0; lane < result.getCoreCount(); lane++) result.getTimeline(lane).writeTo(out);
+        }
+    }
+
+    private static ScheduleResult readSpill(Path file, Workload workload) throws IOException {
+        try (ResultExporter.Input in = new ResultExporter.Input(file)) {
+            in.require(8);
+            if (in.buffer.getInt() != SPILL_MAGIC) throw new IOException("Not a cached result");
+            int version = in.buffer.getInt();
+            if (version != SPILL_VERSION) throw new IOException("Unsupported cached result version " + version);
+            byte[] expected = workload.fingerprint();
+            byte[] fingerprint = new byte[expected.length];
+            in.require(fingerprint.length);
+            in.buffer.get(fingerprint);
+            if (!Arrays.equals(fingerprint, expected)) throw new IOException("Cached result is of another workload");
+            long kind = in.getVarint();
+            long n = in.getVarint();
+            long lanes = in.getVarint();
+            if (kind > 1 || n != workload.size() || lanes < 1 || lanes > SmpScheduler.MAX_CORES) throw new IOException("Cached result does not match the workload");
+            long contextSwitches = in.getVarint();
+            long overheadTime = in.getVarint();
+            long migrations = kind == 1 ? in.getVarint() : 0;
+            long migrationTime = kind == 1 ? in.getVarint() : 0;
+            boolean starvation = in.getVarint() != 0;
+
+            TimeColumn completedTime = new TimeColumn(workload.size());
+            TimeColumn firstRunTime = starvation ? new TimeColumn(workload.size()) : null;
+            TimeColumn longestWait = starvation ? new TimeColumn(workload.size()) : null;
+            for (int i = 0; i < workload.size(); i++) {
+                long arrival = workload.getArrivalTime(i);
+                completedTime.set(i, arrival + ResultExporter.unzigzag(in.getVarint()));
+                if (starvation) {
+                    firstRunTime.set(i, arrival + ResultExporter.unzigzag(in.getVarint()));
+                    longestWait.set(i, ResultExporter.unzigzag(in.getVarint()));
+                }
+            }
+            Timeline[] timelines = new Timeline[(int) lanes];
+            for (int lane = 0; lane < lanes; lane++) timelines[lane] = Timeline.readFrom(in);
+
+            if (kind == 1) {
+                return new SmpScheduleResult(workload, timelines, completedTime, firstRunTime, longestWait, contextSwitches, migrations, migrationTime);
+            }
+            return new ScheduleResult(workload, timelines, completedTime, firstRunTime, longestWait, contextSwitches, overheadTime);
+        }
+    }
+}
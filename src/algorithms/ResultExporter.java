@@ -0,0 +1,510 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes results to files for offline analysis. Everything is streamed through one 64 KB buffer,
+// no file is ever built in memory, and no String is created per value.
+//
+// CSV: one row per process (pid, arrival, burst, priority, completed, turnaround, waiting and, when
+// the result has them, response and longest wait) or per Gantt segment (lane, pid, start, end).
+// pid -1 is idle time and -2 switch overhead.
+//
+// Timeline binary: a 16 byte header (magic, version, lane count as long), then per lane its segment
+// count as a varint followed by three varints per segment: the pid zigzag encoded, the gap since
+// the end of the previous segment and the length. A segment usually takes 3 or 4 bytes.
+//
+// Columnar: the rows are cut into groups of ROW_GROUP rows and every column of a group is stored
+// as one chunk of zigzag varint deltas. A footer lists the column names and, per chunk, its offset,
+// length, minimum and maximum, so a reader only fetches the columns and groups it needs. The file
+// starts with magic and version and ends with the footer offset and the magic.
+public class ResultExporter {
+    public static final int TIMELINE_MAGIC = 0x4C54534F; // "OSTL"
+    public static final int COLUMNS_MAGIC = 0x4C43534F;  // "OSCL"
+    public static final int VERSION = 1;
+    static final int ROW_GROUP = 1 << 16;
+
+    private static final String[] PROCESS_COLUMNS = {"pid", "arrival", "burst", "priority", "completed", "turnaround", "waiting", "response", "longest_wait"};
+    private static final String[] SEGMENT_COLUMNS = {"lane", "pid", "start", "end"};
+    // footer entry of one chunk: offset and minimum and maximum as longs, length as int
+    private static final int CHUNK_ENTRY_BYTES = 28;
+    // segments read from a timeline at a time
+    private static final int SEGMENT_BATCH = 4096;
+
+    private ResultExporter() {
+    }
+
+    public static void writeProcessesCsv(Path file, ScheduleResult result) throws IOException {
+        int columns = processColumnCount(result);
+        try (Output out = new Output(file)) {
+            for (int c = 0; c < columns; c++) {
+                if (c > 0) out.putByte(',');
+                out.putAscii(PROCESS_COLUMNS[c]);
+            }
+            out.putByte('\n');
+
+            long[] row = new long[columns];
+            for (int i = 0; i < result.getWorkload().size(); i++) {
+                processRow(result, i, row);
+                for (int c = 0; c < columns; c++) {
+                    if (c > 0) out.putByte(',');
+                    out.putDecimal(row[c]);
+                }
+                out.putByte('\n');
+            }
+        }
+    }
+
+    // the segments of every core
+    public static void writeSegmentsCsv(Path file, ScheduleResult result) throws IOException {
+        Segments segments = new Segments();
+        try (Output out = new Output(file)) {
+            out.putAscii("lane,pid,start,end\n");
+            for (int lane = 0; lane < result.getCoreCount(); lane++) {
+                Timeline timeline = result.getTimeline(lane);
+                for (long from = 0, read; (read = segments.read(timeline, from)) > 0; from += read) {
+                    for (int k = 0; k < read; k++) {
+                        out.putDecimal(lane);
+                        out.putByte(',');
+                        out.putDecimal(segments.pid[k]);
+                        out.putByte(',');
+                        out.putDecimal(segments.start[k]);
+                        out.putByte(',');
+                        out.putDecimal(segments.end[k]);
+                        out.putByte('\n');
+                    }
+                }
+            }
+        }
+    }
+
+    public static void writeTimelineBinary(Path file, ScheduleResult result) throws IOException {
+        Segments segments = new Segments();
+        try (Output out = new Output(file)) {
+            out.ensure(TraceImporter.HEADER_BYTES);
+            out.buffer.putInt(TIMELINE_MAGIC).putInt(VERSION).putLong(result.getCoreCount());
+            for (int lane = 0; lane < result.getCoreCount(); lane++) {
+                Timeline timeline = result.getTimeline(lane);
+                out.putVarint(timeline.size());
+                long previousEnd = 0;
+                for (long from = 0, read; (read = segments.read(timeline, from)) > 0; from += read) {
+                    for (int k = 0; k < read; k++) {
+                        long start = segments.start[k];
+                        long end = segments.end[k];
+                        out.putVarint(zigzag(segments.pid[k]));
+                        out.putVarint(start - previousEnd);
+                        out.putVarint(end - start);
+                        previousEnd = end;
+                    }
+                }
+            }
+        }
+    }
+
+    // one timeline per lane, with the segments exactly as they were written
+    public static Timeline[] readTimelineBinary(Path file) throws IOException {
+        try (Input in = new Input(file)) {
+            in.require(TraceImporter.HEADER_BYTES);
+            if (in.buffer.getInt() != TIMELINE_MAGIC) throw new IOException("Not a timeline file");
+            int version = in.buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported timeline version " + version);
+            long lanes = in.buffer.getLong();
+            if (lanes < 0 || lanes > in.size) throw new IOException("Invalid lane count " + lanes);
+
+            Timeline[] timelines = new Timeline[(int) lanes];
+            for (int lane = 0; lane < lanes; lane++) {
+                long n = in.getVarint();
+                // every segment takes at least 3 bytes, so a corrupt count cannot allocate much
+                if (n < 0 || n > in.size / 3) throw new IOException("Invalid segment count " + n);
+                // blocks of rounds are written out segment by segment, a lane of them can be too long to load again
+                if (n > Integer.MAX_VALUE - 8) throw new IOException("Lane " + lane + " has too many segments to load: " + n);
+                Timeline timeline = new Timeline((int) n);
+                long previousEnd = 0;
+                for (long s = 0; s < n; s++) {
+                    int pid = (int) unzigzag(in.getVarint());
+                    long start = previousEnd + in.getVarint();
+                    long end = start + in.getVarint();
+                    if (end <= start || start < previousEnd) throw new IOException("Invalid segment in lane " + lane);
+                    timeline.append(pid, start, end);
+                    previousEnd = end;
+                }
+                timelines[lane] = timeline;
+            }
+            return timelines;
+        }
+    }
+
+    public static void writeProcessesColumnar(Path file, ScheduleResult result) throws IOException {
+        int columns = processColumnCount(result);
+        String[] names = new String[columns];
+        System.arraycopy(PROCESS_COLUMNS, 0, names, 0, columns);
+        long[] row = new long[columns];
+        int[] next = new int[1];
+        writeColumnar(file, names, (values, rows) -> {
+            int filled = Math.min(rows, result.getWorkload().size() - next[0]);
+            for (int r = 0; r < filled; r++) {
+                processRow(result, next[0]++, row);
+                for (int c = 0; c < columns; c++) values[c][r] = row[c];
+            }
+            return filled;
+        });
+    }
+
+    public static void writeSegmentsColumnar(Path file, ScheduleResult result) throws IOException {
+        Segments segments = new Segments();
+        // lane and segment of the next row
+        long[] cursor = new long[2];
+        writeColumnar(file, SEGMENT_COLUMNS, (values, rows) -> {
+            int filled = 0;
+            while (filled < rows && cursor[0] < result.getCoreCount()) {
+                Timeline timeline = result.getTimeline((int) cursor[0]);
+                int read = segments.read(timeline, cursor[1], rows - filled);
+                for (int k = 0; k < read; k++) {
+                    values[0][filled + k] = cursor[0];
+                    values[1][filled + k] = segments.pid[k];
+                    values[2][filled + k] = segments.start[k];
+                    values[3][filled + k] = segments.end[k];
+                }
+                filled += read;
+                cursor[1] += read;
+                if (cursor[1] == timeline.size()) {
+                    cursor[0]++;
+                    cursor[1] = 0;
+                }
+            }
+            return filled;
+        });
+    }
+
+    // names of the columns of a columnar file, in order
+    public static String[] readColumnNames(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new Footer(channel).names;
+        }
+    }
+
+    // every value of one column of a columnar file, reading only the chunks of that column
+    public static long[] readColumn(Path file, String name) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Footer footer = new Footer(channel);
+            int column = -1;
+            for (int c = 0; c < footer.names.length; c++) {
+                if (footer.names[c].equals(name)) column = c;
+            }
+            if (column < 0) throw new IOException("No column " + name);
+
+            long total = 0;
+            for (int rows : footer.rows) total += rows;
+            if (total > Integer.MAX_VALUE - 8) throw new IOException("Column is too long to read at once: " + total);
+            long[] values = new long[(int) total];
+            int at = 0;
+            ByteBuffer chunk = ByteBuffer.allocate(0);
+            for (int g = 0; g < footer.rows.length; g++) {
+                int length = footer.length[g][column];
+                if (chunk.capacity() < length) chunk = ByteBuffer.allocate(length);
+                chunk.clear().limit(length);
+                readFully(channel, chunk, footer.offset[g][column]);
+                chunk.flip();
+                long previous = 0;
+                for (int r = 0; r < footer.rows[g]; r++) {
+                    previous += unzigzag(getVarint(chunk));
+                    values[at++] = previous;
+                }
+            }
+            return values;
+        }
+    }
+
+    private static int processColumnCount(ScheduleResult result) {
+        return result.hasStarvationMetrics() ? PROCESS_COLUMNS.length : PROCESS_COLUMNS.length - 2;
+    }
+
+    // the values of PROCESS_COLUMNS for process i, as many as row has room for
+    private static void processRow(ScheduleResult result, int i, long[] row) {
+        Workload workload = result.getWorkload();
+        row[0] = workload.getPid(i);
+        row[1] = workload.getArrivalTime(i);
+        row[2] = workload.getBurstTime(i);
+        row[3] = workload.getPriority(i);
+        row[4] = result.getCompletedTime(i);
+        row[5] = result.getTurnAroundTime(i);
+        row[6] = result.getWaitingTime(i);
+        if (row.length > 7) {
+            row[7] = result.getResponseTime(i);
+            row[8] = result.getLongestWait(i);
+        }
+    }
+
+    private interface RowGroupSource {
+        // fills the next rows (at most rows) of every column from index 0, returns how many it filled
+        int fill(long[][] values, int rows);
+    }
+
+    private static void writeColumnar(Path file, String[] names, RowGroupSource source) throws IOException {
+        int columns = names.length;
+        long[][] values = new long[columns][ROW_GROUP];
+        List<long[]> chunks = new ArrayList<>();
+        List<Integer> groupRows = new ArrayList<>();
+
+        try (Output out = new Output(file)) {
+            out.ensure(8);
+            out.buffer.putInt(COLUMNS_MAGIC).putInt(VERSION);
+
+            int rows;
+            while ((rows = source.fill(values, ROW_GROUP)) > 0) {
+                groupRows.add(rows);
+                for (int c = 0; c < columns; c++) {
+                    long[] column = values[c];
+                    long offset = out.position();
+                    long min = Long.MAX_VALUE;
+                    long max = Long.MIN_VALUE;
+                    long previous = 0;
+                    for (int r = 0; r < rows; r++) {
+                        long value = column[r];
+                        out.putVarint(zigzag(value - previous));
+                        previous = value;
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+                    chunks.add(new long[] {offset, out.position() - offset, min, max});
+                }
+            }
+
+            long footerOffset = out.position();
+            out.putVarint(columns);
+            for (String name : names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                out.putVarint(bytes.length);
+                for (byte b : bytes) out.putByte(b);
+            }
+            out.putVarint(groupRows.size());
+            for (int g = 0; g < groupRows.size(); g++) {
+                out.putVarint(groupRows.get(g));
+                for (int c = 0; c < columns; c++) {
+                    long[] chunk = chunks.get(g * columns + c);
+                    out.ensure(CHUNK_ENTRY_BYTES);
+                    out.buffer.putLong(chunk[0]).putInt((int) chunk[1]).putLong(chunk[2]).putLong(chunk[3]);
+                }
+            }
+            out.ensure(12);
+            out.buffer.putLong(footerOffset).putInt(COLUMNS_MAGIC);
+        }
+    }
+
+    // footer of a columnar file
+    private static final class Footer {
+        final String[] names;
+        final int[] rows;
+        final long[][] offset;
+        final int[][] length;
+
+        Footer(FileChannel channel) throws IOException {
+            long size = channel.size();
+            if (size < 20) throw new IOException("File is too short for a columnar file");
+            ByteBuffer trailer = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, trailer, size - 12);
+            trailer.flip();
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != COLUMNS_MAGIC) throw new IOException("Not a columnar file");
+            if (footerOffset < 8 || footerOffset > size - 12) throw new IOException("Invalid footer offset " + footerOffset);
+
+            ByteBuffer footer = ByteBuffer.allocate((int) (size - 12 - footerOffset)).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, footer, footerOffset);
+            footer.flip();
+            try {
+                int columns = (int) getVarint(footer);
+                if (columns < 0 || columns > footer.remaining()) throw new IOException("Invalid column count " + columns);
+                names = new String[columns];
+                for (int c = 0; c < columns; c++) {
+                    byte[] bytes = new byte[(int) getVarint(footer)];
+                    footer.get(bytes);
+                    names[c] = new String(bytes, StandardCharsets.UTF_8);
+                }
+                int groups = (int) getVarint(footer);
+                if (groups < 0 || groups > footer.remaining()) throw new IOException("Invalid row group count " + groups);
+                rows = new int[groups];
+                offset = new long[groups][columns];
+                length = new int[groups][columns];
+                for (int g = 0; g < groups; g++) {
+                    rows[g] = (int) getVarint(footer);
+                    for (int c = 0; c < columns; c++) {
+                        offset[g][c] = footer.getLong();
+                        length[g][c] = footer.getInt();
+                        // minimum and maximum, for readers that skip groups
+                        footer.getLong();
+                        footer.getLong();
+                        if (offset[g][c] < 8 || length[g][c] < 0 || offset[g][c] + length[g][c] > footerOffset) {
+                            throw new IOException("Invalid chunk in row group " + g);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                // a cut or corrupt footer runs out of bytes or has a negative length
+                throw new IOException("Corrupt columnar footer", e);
+            }
+        }
+    }
+
+    // batch of segments read from a timeline
+    private static final class Segments {
+        final int[] pid = new int[SEGMENT_BATCH];
+        final long[] start = new long[SEGMENT_BATCH];
+        final long[] end = new long[SEGMENT_BATCH];
+
+        int read(Timeline timeline, long from) {
+            return read(timeline, from, SEGMENT_BATCH);
+        }
+
+        int read(Timeline timeline, long from, int count) {
+            return timeline.read(from, pid, start, end, Math.min(count, SEGMENT_BATCH));
+        }
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long getVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) throw new IOException("Unexpected end of data");
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Varint longer than 64 bits");
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of file");
+            position += read;
+        }
+    }
+
+    // buffered writer over a file channel
+    static final class Output implements AutoCloseable {
+        private static final int BUFFER_BYTES = 1 << 16;
+
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final byte[] digits = new byte[20];
+        private long written;
+
+        Output(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        long position() {
+            return written + buffer.position();
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) drain();
+        }
+
+        void putByte(int b) throws IOException {
+            ensure(1);
+            buffer.put((byte) b);
+        }
+
+        void putAscii(String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) putByte(text.charAt(i));
+        }
+
+        void putVarint(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putDecimal(long value) throws IOException {
+            ensure(20);
+            if (value == Long.MIN_VALUE) {
+                putAscii(Long.toString(value));
+                return;
+            }
+            if (value < 0) {
+                buffer.put((byte) '-');
+                value = -value;
+            }
+            int n = 0;
+            do {
+                digits[n++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (n > 0) buffer.put(digits[--n]);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) written += channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // buffered reader over a file channel, refilled whenever fewer bytes remain than a value may need
+    static final class Input implements AutoCloseable {
+        private static final int BUFFER_BYTES = 1 << 16;
+
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        final long size;
+
+        Input(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            size = channel.size();
+            buffer.limit(0);
+        }
+
+        // buffers at least bytes, or whatever is left of the file
+        private void fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+        }
+
+        void require(int bytes) throws IOException {
+            fill(bytes);
+            if (buffer.remaining() < bytes) throw new IOException("Unexpected end of file");
+        }
+
+        // a varint never takes more than 10 bytes
+        long getVarint() throws IOException {
+            fill(10);
+            return ResultExporter.getVarint(buffer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -2,9 +2,8 @@ package algorithms;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.*;
+import java.nio.file.Path;
 
 public class RoundRobin implements OperatingSystemAlgorithm {
 
@@ -20,91 +19,40 @@ public class RoundRobin implements OperatingSystemAlgorithm {
 
         try {
             // Inputs
-            String intString = JOptionPane.showInputDialog(null, "Enter Number of Processes: ");
-            if (intString == null) return;
-            int num = Integer.parseInt(intString.trim());
-
-            ArrayList<RRProcess> processes = new ArrayList<>();
-            ArrayList<RRGanttChart> ganttChart = new ArrayList<>();
-
-            for (int i = 0; i < num; i++) {
-                String pid = "P" + (i + 1);
-                String atString = JOptionPane.showInputDialog(null, "Arrival Time of " + pid + ":");
-                String btString = JOptionPane.showInputDialog(null, "Burst Time of " + pid + ":");
-                if (atString == null || btString == null) return;
-
-                int at = Integer.parseInt(atString.trim());
-                int bt = Integer.parseInt(btString.trim());
-
-                processes.add(new RRProcess(pid, at, bt));
+            Path file = null;
+            GeneratorDialog generator = null;
+            Workload workload = null;
+            TraceFileChooser.Source source = TraceFileChooser.askSource("Round Robin");
+            if (source == null) return;
+            if (source == TraceFileChooser.Source.IMPORT) {
+                file = TraceFileChooser.choose(null);
+                if (file == null) return;
+            } else if (source == TraceFileChooser.Source.GENERATE) {
+                generator = GeneratorDialog.prompt("Round Robin");
+                if (generator == null) return;
+            } else {
+                workload = promptWorkload();
+                if (workload == null) return;
             }
 
             String tqString = JOptionPane.showInputDialog(null, "Enter Time Quantum: ");
             if (tqString == null) return;
             int tq = Integer.parseInt(tqString.trim());
 
-            // Logic
-            processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
-            Queue<RRProcess> queue = new LinkedList<>();
-
-            int currentTime = 0;
-            int completed = 0;
-            int index = 0;
-
-            if (!processes.isEmpty() && processes.get(0).arrivalTime > currentTime) {
-                currentTime = processes.get(0).arrivalTime;
-            }
-
-            while (completed < num) {
-                while (index < num && processes.get(index).arrivalTime <= currentTime) {
-                    queue.add(processes.get(index));
-                    index++;
-                }
-
-                if (queue.isEmpty()) {
-                    if (index < num) {
-                        int nextTime = processes.get(index).arrivalTime;
-                        ganttChart.add(new RRGanttChart("IDLE", currentTime, nextTime));
-                        currentTime = nextTime;
-                        queue.add(processes.get(index));
-                        index++;
-                    } else {
-                        break;
-                    }
-                }
-
-                RRProcess p = queue.poll();
-                int start = currentTime;
-
-                if (p.remainingBurstTime > tq) {
-                    p.remainingBurstTime -= tq;
-                    currentTime += tq;
-                } else {
-                    currentTime += p.remainingBurstTime;
-                    p.remainingBurstTime = 0;
-                    p.completedTime = currentTime;
-                    p.turnAroundTime = (p.completedTime - p.arrivalTime);
-                    p.waitingTime = (p.turnAroundTime - p.burstTime);
-                    completed++;
-                }
-
-                int end = currentTime;
-                ganttChart.add(new RRGanttChart(p.pid, start, end));
-
-                while (index < num && processes.get(index).arrivalTime <= currentTime) {
-                    queue.add(processes.get(index));
-                    index++;
-                }
-
-                if (p.remainingBurstTime > 0) {
-                    queue.add(p);
-                }
-            }
-
-            processes.sort(Comparator.comparing(p -> Integer.parseInt(p.pid.substring(1))));
-
-            // Show results
-            showDashboardWindow(processes, ganttChart, tq);
+            String costString = JOptionPane.showInputDialog(null, "Context switch cost and cache reload penalty (e.g. 1, 2; leave blank for none): ");
+            if (costString == null) return;
+            SwitchCost switchCost = SwitchCost.parse(costString);
+
+            // Logic, the import or generation and the simulation run in the background
+            Scheduler scheduler = new CachingScheduler(new RRScheduler(tq, switchCost), ResultCache.shared());
+            Path traceFile = file;
+            Workload typedWorkload = workload;
+            GeneratorDialog generated = generator;
+            SimulationWorker.start("Round Robin", monitor -> {
+                Workload processes = traceFile != null ? TraceImporter.readWorkload(traceFile)
+                        : generated != null ? generated.generate() : typedWorkload;
+                return scheduler.simulate(processes, monitor);
+            }, result -> showDashboardWindow(result, tq));
 
         } catch (Exception e) {
             JOptionPane.showMessageDialog(null, "Error: " + e.getMessage());
@@ -112,10 +60,33 @@ public class RoundRobin implements OperatingSystemAlgorithm {
         }
     }
 
-    private void showDashboardWindow(ArrayList<RRProcess> processes, ArrayList<RRGanttChart> ganttChart, int tq) {
+    // null when the user cancels one of the prompts
+    private Workload promptWorkload() {
+        String intString = JOptionPane.showInputDialog(null, "Enter Number of Processes: ");
+        if (intString == null) return null;
+        int num = Integer.parseInt(intString.trim());
+
+        int[] pids = new int[num];
+        int[] arrivalTimes = new int[num];
+        int[] burstTimes = new int[num];
+
+        for (int i = 0; i < num; i++) {
+            String pid = "P" + (i + 1);
+            String atString = JOptionPane.showInputDialog(null, "Arrival Time of " + pid + ":");
+            String btString = JOptionPane.showInputDialog(null, "Burst Time of " + pid + ":");
+            if (atString == null || btString == null) return null;
+
+            pids[i] = i + 1;
+            arrivalTimes[i] = Integer.parseInt(atString.trim());
+            burstTimes[i] = Integer.parseInt(btString.trim());
+        }
+
+        return new Workload(pids, arrivalTimes, burstTimes, new int[num]);
+    }
 
+    private void showDashboardWindow(ScheduleResult result, int tq) {
         JFrame frame = new JFrame("Round Robin Results");
-        frame.setSize(900, 600);
+        frame.setSize(1150, 600);
         frame.setLocationRelativeTo(null);
         frame.setLayout(new BorderLayout());
 
@@ -123,24 +94,7 @@ public class RoundRobin implements OperatingSystemAlgorithm {
 
         // Table
         String[] col = {"Process ID", "Arrival", "Burst", "Completion", "Turn Around", "Waiting"};
-        Object[][] data = new Object[processes.size()][6];
-
-        double totalTAT = 0;
-        double totalWT = 0;
-
-        for (int i = 0; i < processes.size(); i++) {
-            RRProcess p = processes.get(i);
-            data[i][0] = p.pid;
-            data[i][1] = p.arrivalTime;
-            data[i][2] = p.burstTime;
-            data[i][3] = p.completedTime;
-            data[i][4] = p.turnAroundTime;
-            data[i][5] = p.waitingTime;
-            totalTAT += p.turnAroundTime;
-            totalWT += p.waitingTime;
-        }
-
-        JTable table = new JTable(new DefaultTableModel(data, col));
+        JTable table = new JTable(new ProcessResultTableModel(result, col, false));
         table.setRowHeight(25);
         DefaultTableCellRenderer center = new DefaultTableCellRenderer();
         center.setHorizontalAlignment(JLabel.CENTER);
@@ -151,54 +105,38 @@ public class RoundRobin implements OperatingSystemAlgorithm {
         scroll.setBorder(BorderFactory.createTitledBorder("Process Table (TQ = " + tq + ")"));
 
         // Gantt Chart Panel
-        JPanel ganttPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-
-                if (ganttChart.isEmpty()) return;
-
-                int totalTime = ganttChart.get(ganttChart.size() - 1).endTime;
-                int width = getWidth() - 40;
-                int x = 20;
-                int y = 40;
-                int h = 50;
-
-                for (RRGanttChart entry : ganttChart) {
-                    int dur = entry.endTime - entry.startTime;
-                    int barW = (int) ((double) dur / totalTime * width);
-                    int barX = x + (int) ((double) entry.startTime / totalTime * width);
-
-                    g.setColor(entry.pid.equals("IDLE") ? Color.LIGHT_GRAY : Color.CYAN);
-                    g.fillRect(barX, y, barW, h);
-                    g.setColor(Color.BLACK);
-                    g.drawRect(barX, y, barW, h);
-
-                    if (barW > 20)
-                        g.drawString(entry.pid, barX + barW / 2 - 5, y + 30);
-
-                    g.drawString(String.valueOf(entry.startTime), barX, y + h + 15);
-                }
-
-                g.drawString(String.valueOf(totalTime), x + width, y + h + 15);
-            }
-        };
+        GanttChartPanel ganttPanel = new GanttChartPanel(result.getTimeline(), new Color[] {Color.CYAN});
         ganttPanel.setPreferredSize(new Dimension(800, 150));
         ganttPanel.setBorder(BorderFactory.createTitledBorder("Gantt Chart"));
 
         // Footer
         JPanel footer = new JPanel(new FlowLayout());
         JLabel avg = new JLabel(String.format(
-                "Avg Turnaround: %.2f   |   Avg Waiting: %.2f",
-                totalTAT / processes.size(),
-                totalWT / processes.size()
+                "Avg Turnaround: %.2f   |   Avg Waiting: %.2f   |   CPU Utilization: %.1f%%   |   Throughput: %.4f   |   Context Switches: %d (%.1f%% overhead)",
+                result.getAverageTurnAroundTime(),
+                result.getAverageWaitingTime(),
+                100 * result.getCpuUtilization(),
+                result.getThroughput(),
+                result.getContextSwitches(),
+                100 * result.getOverheadRatio()
         ));
         avg.setFont(new Font("SansSerif", Font.BOLD, 14));
         footer.add(avg);
+        footer.add(ExportDialog.createButton(frame, () -> result));
+
+        // Percentiles
+        JTable percentileTable = new JTable(new PercentileTableModel(result));
+        JScrollPane percentileScroll = new JScrollPane(percentileTable);
+        percentileScroll.setPreferredSize(new Dimension(800, 100));
+        percentileScroll.setBorder(BorderFactory.createTitledBorder("Percentiles"));
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(footer, BorderLayout.NORTH);
+        header.add(percentileScroll, BorderLayout.CENTER);
 
         mainPanel.add(scroll, BorderLayout.CENTER);
         mainPanel.add(ganttPanel, BorderLayout.SOUTH);
-        mainPanel.add(footer, BorderLayout.NORTH);
+        mainPanel.add(header, BorderLayout.NORTH);
 
         frame.add(mainPanel);
         frame.setVisible(true);
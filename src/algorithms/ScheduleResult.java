@@ -0,0 +1,203 @@
+package algorithms;
+
+public class ScheduleResult {
+    private final Workload workload;
+    // one timeline per core
+    private final Timeline[] timelines;
+    private final TimeColumn completedTime;
+    // starvation metrics, null when the scheduler does not record them
+    private final TimeColumn firstRunTime;
+    private final TimeColumn longestWait;
+    private final long contextSwitches;
+    // time spent on switching instead of running processes, over all cores
+    private final long overheadTime;
+    // built together in one pass on first use
+    private LatencyHistogram turnAroundHistogram;
+    private LatencyHistogram waitingHistogram;
+    private LatencyHistogram responseHistogram;
+
+    public ScheduleResult(Workload workload, Timeline timeline, int[] completedTime) {
+        this(workload, new Timeline[] {timeline}, new TimeColumn(completedTime), null, null, 0, 0);
+    }
+
+    // the completion and starvation columns of table, which the result takes over
+    public ScheduleResult(ProcessTable table, Timeline timeline, long contextSwitches, long overheadTime) {
+        this(table, new Timeline[] {timeline}, contextSwitches, overheadTime);
+    }
+
+    public ScheduleResult(ProcessTable table, Timeline[] timelines, long contextSwitches, long overheadTime) {
+        this(table.workload, timelines, table.completedTime, table.firstRunTime, table.longestWait, contextSwitches, overheadTime);
+    }
+
+    // the columns are taken over; firstRunTime and longestWait are both null without starvation metrics
+    ScheduleResult(Workload workload, Timeline[] timelines, TimeColumn completedTime, TimeColumn firstRunTime, TimeColumn longestWait,
+                           long contextSwitches, long overheadTime) {
+        this.workload = workload;
+        this.timelines = timelines;
+        this.completedTime = completedTime;
+        this.firstRunTime = firstRunTime;
+        this.longestWait = longestWait;
+        this.contextSwitches = contextSwitches;
+        this.overheadTime = overheadTime;
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    // the timeline of the first core
+    public Timeline getTimeline() {
+        return timelines[0];
+    }
+
+    public Timeline getTimeline(int core) {
+        return timelines[core];
+    }
+
+    public int getCoreCount() {
+        return timelines.length;
+    }
+
+    // rough heap footprint including the workload, for ResultCache
+    long estimateBytes() {
+        long bytes = 128 + workload.estimateBytes() + completedTime.estimateBytes();
+        if (firstRunTime != null) bytes += firstRunTime.estimateBytes() + longestWait.estimateBytes();
+        for (Timeline timeline : timelines) bytes += timeline.estimateBytes();
+        return bytes;
+    }
+
+    // time when the last core finished
+    public long getMakespan() {
+        long makespan = 0;
+        for (Timeline timeline : timelines) makespan = Math.max(makespan, timeline.getTotalTime());
+        return makespan;
+    }
+
+    public long getCompletedTime(int i) {
+        return completedTime.get(i);
+    }
+
+    public long getTurnAroundTime(int i) {
+        return completedTime.get(i) - workload.getArrivalTime(i);
+    }
+
+    public long getWaitingTime(int i) {
+        return getTurnAroundTime(i) - workload.getBurstTime(i);
+    }
+
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public long getOverheadTime() {
+        return overheadTime;
+    }
+
+    // share of the core time up to the makespan spent running processes
+    public double getCpuUtilization() {
+        double capacity = (double) getMakespan() * timelines.length;
+        if (capacity == 0) return 0;
+        ExactSum busy = new ExactSum();
+        for (int i = 0; i < workload.size(); i++) busy.add(workload.getBurstTime(i));
+        return busy.doubleValue() / capacity;
+    }
+
+    // share of the core time up to the makespan lost to switching
+    public double getOverheadRatio() {
+        double capacity = (double) getMakespan() * timelines.length;
+        return capacity == 0 ? 0 : overheadTime / capacity;
+    }
+
+    // completed processes per time unit
+    public double getThroughput() {
+        long makespan = getMakespan();
+        return makespan == 0 ? 0 : (double) workload.size() / makespan;
+    }
+
+    public boolean hasStarvationMetrics() {
+        return longestWait != null;
+    }
+
+    // time from arrival until the process first got the CPU
+    public long getResponseTime(int i) {
+        return firstRunTime.get(i) - workload.getArrivalTime(i);
+    }
+
+    // longest single stretch the process spent in the ready queue
+    public long getLongestWait(int i) {
+        return longestWait.get(i);
+    }
+
+    public double getAverageResponseTime() {
+        ExactSum total = new ExactSum();
+        for (int i = 0; i < workload.size(); i++) total.add(getResponseTime(i));
+        return total.mean(workload.size());
+    }
+
+    public long getMaxLongestWait() {
+        long max = 0;
+        for (int i = 0; i < workload.size(); i++) max = Math.max(max, longestWait.get(i));
+        return max;
+    }
+
+    // the sums are added up in 128 bits, so they are exact however long the trace
+    private ExactSum sumTurnAroundTime() {
+        ExactSum total = new ExactSum();
+        for (int i = 0; i < workload.size(); i++) total.add(getTurnAroundTime(i));
+        return total;
+    }
+
+    private ExactSum sumWaitingTime() {
+        ExactSum total = new ExactSum();
+        for (int i = 0; i < workload.size(); i++) total.add(getWaitingTime(i));
+        return total;
+    }
+
+    // throws ArithmeticException if the sum does not fit in a long
+    public long getTotalTurnAroundTime() {
+        return sumTurnAroundTime().longValueExact();
+    }
+
+    public long getTotalWaitingTime() {
+        return sumWaitingTime().longValueExact();
+    }
+
+    public double getAverageTurnAroundTime() {
+        return sumTurnAroundTime().mean(workload.size());
+    }
+
+    public double getAverageWaitingTime() {
+        return sumWaitingTime().mean(workload.size());
+    }
+
+    public LatencyHistogram getTurnAroundHistogram() {
+        buildHistograms();
+        return turnAroundHistogram;
+    }
+
+    public LatencyHistogram getWaitingHistogram() {
+        buildHistograms();
+        return waitingHistogram;
+    }
+
+    // null when the result has no starvation metrics
+    public LatencyHistogram getResponseHistogram() {
+        buildHistograms();
+        return responseHistogram;
+    }
+
+    private synchronized void buildHistograms() {
+        if (turnAroundHistogram != null) return;
+        LatencyHistogram turnAround = new LatencyHistogram();
+        LatencyHistogram waiting = new LatencyHistogram();
+        LatencyHistogram response = hasStarvationMetrics() ? new LatencyHistogram() : null;
+        for (int i = 0; i < workload.size(); i++) {
+            turnAround.record(getTurnAroundTime(i));
+            waiting.record(getWaitingTime(i));
+            if (response != null) response.record(getResponseTime(i));
+        }
+        waitingHistogram = waiting;
+        responseHistogram = response;
+        turnAroundHistogram = turnAround;
+    }
+}
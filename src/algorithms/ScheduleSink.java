@@ -0,0 +1,26 @@
+package algorithms;
+
+// Receives the output of a streaming simulation as it is produced.
+public interface ScheduleSink {
+    // consecutive slices of the same pid are already merged, pid is Timeline.IDLE for idle time and
+    // Timeline.OVERHEAD for switching
+    void segment(int pid, long startTime, long endTime);
+
+    // full Round Robin rounds as in Timeline.addRounds; by default written out slice by slice, a
+    // sink that can store them as one record should, since one block may stand for billions of slices
+    default void rounds(int[] pids, long startTime, int quantum, int overhead, int rounds) {
+        long time = startTime;
+        for (int r = 0; r < rounds; r++) {
+            for (int pid : pids) {
+                if (overhead > 0) {
+                    segment(Timeline.OVERHEAD, time, time + overhead);
+                    time += overhead;
+                }
+                segment(pid, time, time + quantum);
+                time += quantum;
+            }
+        }
+    }
+
+    void completed(int pid, long arrivalTime, int burstTime, long completedTime);
+}
@@ -0,0 +1,22 @@
+package algorithms;
+
+// Headless CPU scheduling algorithm, no Swing involved.
+// Implementations keep all per-run state local so one instance can be shared between threads.
+public interface Scheduler {
+    // engines check the monitor every CHECK_INTERVAL steps
+    int CHECK_INTERVAL = 1 << 12;
+
+    String getName();
+
+    // text that names the algorithm and every parameter that changes its results, so equal keys
+    // on equal workloads give equal results; null when that is not known and results must not be cached
+    default String getCacheKey() {
+        return null;
+    }
+
+    ScheduleResult simulate(Workload workload, SimulationMonitor monitor);
+
+    default ScheduleResult simulate(Workload workload) {
+        return simulate(workload, SimulationMonitor.NONE);
+    }
+}
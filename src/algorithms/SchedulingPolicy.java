@@ -0,0 +1,46 @@
+package algorithms;
+
+// A CPU scheduling policy for PolicyScheduler. The policy itself has no state and can be shared,
+// every simulation run gets its own ReadyQueue from newReadyQueue.
+public interface SchedulingPolicy {
+
+    interface ProcessComparator {
+        int compare(ProcessTable table, int a, int b);
+    }
+
+    // arrival time, then input order
+    ProcessComparator FCFS_ORDER = (t, a, b) -> t.getArrivalTime(a) != t.getArrivalTime(b)
+        ? Long.compare(t.getArrivalTime(a), t.getArrivalTime(b)) : Integer.compare(a, b);
+
+    SchedulingPolicy FCFS = new HeapPolicy("First Come First Serve", false, FCFS_ORDER, "fcfs");
+
+    SchedulingPolicy SJF = new HeapPolicy("Shortest Job First", false,
+        (t, a, b) -> t.getBurstTime(a) != t.getBurstTime(b) ? Integer.compare(t.getBurstTime(a), t.getBurstTime(b)) : FCFS_ORDER.compare(t, a, b), "sjf");
+
+    SchedulingPolicy SRTF = new HeapPolicy("Shortest Remaining Time First", true,
+        (t, a, b) -> t.remaining[a] != t.remaining[b] ? Integer.compare(t.remaining[a], t.remaining[b]) : FCFS_ORDER.compare(t, a, b), "srtf");
+
+    SchedulingPolicy PRIORITY = new HeapPolicy("Non-Preemptive Priority", false,
+        (t, a, b) -> t.getPriority(a) != t.getPriority(b) ? Integer.compare(t.getPriority(a), t.getPriority(b)) : FCFS_ORDER.compare(t, a, b), "priority");
+
+    // priority, arrival time, remaining burst time, pid; the tie-breaking of the original runPPAlgo
+    SchedulingPolicy PREEMPTIVE_PRIORITY = new HeapPolicy("Preemptive Priority", true, (t, a, b) -> {
+        if (t.getPriority(a) != t.getPriority(b)) return Integer.compare(t.getPriority(a), t.getPriority(b));
+        if (t.getArrivalTime(a) != t.getArrivalTime(b)) return Long.compare(t.getArrivalTime(a), t.getArrivalTime(b));
+        if (t.remaining[a] != t.remaining[b]) return Integer.compare(t.remaining[a], t.remaining[b]);
+        return Integer.compare(t.getPid(a), t.getPid(b));
+    }, "preemptive-priority");
+
+    String getName();
+
+    // see Scheduler.getCacheKey; only the built-in policies and the parameterized ones have one,
+    // a HeapPolicy with a custom comparator cannot be told apart by its name
+    default String getCacheKey() {
+        return null;
+    }
+
+    // whether an arrival may take the CPU from the running process
+    boolean isPreemptive();
+
+    ReadyQueue newReadyQueue(ProcessTable table);
+}
@@ -0,0 +1,381 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+// Disk scheduling with requests that arrive over time. The head seeks to the cylinder the
+// algorithm picks and services every waiting request there, one after the other, taking the
+// times of the DiskModel. With the plain cylinder model a request arriving while the head moves
+// makes the algorithm pick again from where the head is by then, except for FCFS, which cannot
+// change its mind, and the return jumps, which service nothing. Under a real seek curve a seek
+// runs to its end once started. SCAN, LOOK and SSTF start moving towards the higher cylinders.
+//
+// The waiting requests are counted per distinct cylinder in a Fenwick tree, so the nearest one
+// above or below the head is found in O(log n) instead of scanning the queue.
+public class SeekScheduler implements DiskScheduler {
+
+    public enum Algorithm {
+        FCFS("FCFS"),
+        SSTF("SSTF"),
+        SCAN("SCAN"),
+        LOOK("LOOK"),
+        C_SCAN("C-SCAN"),
+        C_LOOK("C-LOOK");
+
+        private final String label;
+
+        Algorithm(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Algorithm algorithm;
+    private final DiskModel model;
+
+    public SeekScheduler(Algorithm algorithm) {
+        this(algorithm, DiskModel.CYLINDERS);
+    }
+
+    public SeekScheduler(Algorithm algorithm, DiskModel model) {
+        this.algorithm = algorithm;
+        this.model = model;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public DiskModel getModel() {
+        return model;
+    }
+
+    @Override
+    public String getName() {
+        return algorithm.toString();
+    }
+
+    @Override
+    public DiskScheduleResult simulate(DiskWorkload requests, int headPosition, int diskSize, SimulationMonitor monitor) {
+        if (diskSize < 1) throw new IllegalArgumentException("Disk size must be at least 1");
+        if (headPosition < 0 || headPosition >= diskSize) {
+            throw new IllegalArgumentException("Head position must be between 0 and " + (diskSize - 1));
+        }
+        if (requests.getMaxCylinder() >= diskSize) {
+            throw new IllegalArgumentException("Requests must be between 0 and " + (diskSize - 1));
+        }
+        return new Run(requests, headPosition, diskSize).simulate(monitor);
+    }
+
+    // state of one simulation
+    private class Run {
+        final DiskWorkload requests;
+        final int headPosition;
+        final int diskSize;
+        final int n;
+        final int[] order;
+        // whether an arrival can change the target of a seek in progress
+        final boolean redirectable = algorithm != Algorithm.FCFS && model.isCylinderUnits();
+        final long serviceTime = model.serviceTime();
+
+        // waiting requests (not used by FCFS, which serves them in arrival order): the count per
+        // distinct cylinder and a FIFO list per cylinder
+        final CylinderSet pending;
+        final int[] cylinderIndex;
+        final int[] firstWaiting;
+        final int[] lastWaiting;
+        final int[] nextWaiting;
+
+        long now;
+        int head;
+        boolean up = true;
+        int arrived;
+        int served;
+        long moved;
+
+        // the move decide picked
+        int target;
+        boolean jump;
+        boolean service;
+
+        final int[] serviceOrder;
+        final long[] completionTime;
+        final long[] seekDistance;
+        long[] pathTime = new long[16];
+        int[] pathCylinder = new int[16];
+        boolean[] pathJump = new boolean[16];
+        int pathSize;
+
+        Run(DiskWorkload requests, int headPosition, int diskSize) {
+            this.requests = requests;
+            this.headPosition = headPosition;
+            this.diskSize = diskSize;
+            this.n = requests.size();
+            this.order = requests.getArrivalOrder();
+            this.serviceOrder = new int[n];
+            this.completionTime = new long[n];
+            this.seekDistance = new long[n];
+            this.head = headPosition;
+
+            if (algorithm == Algorithm.FCFS) {
+                pending = null;
+                cylinderIndex = firstWaiting = lastWaiting = nextWaiting = null;
+                return;
+            }
+            int[] distinct = new int[n];
+            for (int i = 0; i < n; i++) distinct[i] = requests.getCylinder(i);
+            Arrays.sort(distinct);
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (count == 0 || distinct[count - 1] != distinct[i]) distinct[count++] = distinct[i];
+            }
+            pending = new CylinderSet(Arrays.copyOf(distinct, count));
+            cylinderIndex = new int[n];
+            for (int i = 0; i < n; i++) cylinderIndex[i] = pending.indexOf(requests.getCylinder(i));
+            firstWaiting = new int[count];
+            lastWaiting = new int[count];
+            nextWaiting = new int[n];
+            Arrays.fill(firstWaiting, -1);
+        }
+
+        DiskScheduleResult simulate(SimulationMonitor monitor) {
+            addPoint(0, head, false);
+            int steps = 0;
+
+            while (served < n) {
+                if (++steps % Scheduler.CHECK_INTERVAL == 0) {
+                    if (monitor.isCancelled()) throw new CancellationException();
+                    monitor.progress(served, n);
+                }
+
+                while (arrived < n && requests.getArrivalTime(order[arrived]) <= now) {
+                    enqueue(order[arrived++]);
+                }
+                if (arrived == served) {
+                    now = requests.getArrivalTime(order[arrived]);
+                    continue;
+                }
+
+                decide();
+                long distance = Math.abs(target - head);
+                if (!jump && redirectable && arrived < n && requests.getArrivalTime(order[arrived]) < now + distance) {
+                    // move until the next arrival and decide again
+                    long part = requests.getArrivalTime(order[arrived]) - now;
+                    moveTo(target > head ? head + (int) part : head - (int) part, false);
+                    continue;
+                }
+                moveTo(target, jump);
+                if (service) serve();
+            }
+
+            return new DiskScheduleResult(requests, model, headPosition, diskSize, serviceOrder, completionTime, seekDistance,
+                    Arrays.copyOf(pathTime, pathSize), Arrays.copyOf(pathCylinder, pathSize), Arrays.copyOf(pathJump, pathSize));
+        }
+
+        private void enqueue(int r) {
+            if (pending == null) return;
+            int c = cylinderIndex[r];
+            if (firstWaiting[c] < 0) {
+                firstWaiting[c] = r;
+            } else {
+                nextWaiting[lastWaiting[c]] = r;
+            }
+            lastWaiting[c] = r;
+            nextWaiting[r] = -1;
+            pending.add(c, 1);
+        }
+
+        // picks target, whether the head jumps there and whether it services requests there
+        private void decide() {
+            jump = false;
+            service = true;
+            switch (algorithm) {
+                case FCFS:
+                    target = requests.getCylinder(order[served]);
+                    break;
+                case SSTF: {
+                    int above = pending.ceiling(head);
+                    int below = pending.floor(head);
+                    if (above < 0) {
+                        target = below;
+                    } else if (below < 0) {
+                        target = above;
+                    } else {
+                        // on a tie keep the direction
+                        long toAbove = above - head;
+                        long toBelow = head - below;
+                        target = toAbove < toBelow || (toAbove == toBelow && up) ? above : below;
+                    }
+                    if (target != head) up = target > head;
+                    break;
+                }
+                case LOOK:
+                    target = up ? pending.ceiling(head) : pending.floor(head);
+                    if (target < 0) {
+                        up = !up;
+                        target = up ? pending.ceiling(head) : pending.floor(head);
+                    }
+                    break;
+                case SCAN:
+                    target = up ? pending.ceiling(head) : pending.floor(head);
+                    if (target < 0) {
+                        int end = up ? diskSize - 1 : 0;
+                        if (head != end) {
+                            target = end;
+                            service = false;
+                        } else {
+                            up = !up;
+                            target = up ? pending.ceiling(head) : pending.floor(head);
+                        }
+                    }
+                    break;
+                case C_SCAN:
+                    target = pending.ceiling(head);
+                    if (target < 0) {
+                        service = false;
+                        if (head != diskSize - 1) {
+                            target = diskSize - 1;
+                        } else {
+                            target = 0;
+                            jump = true;
+                        }
+                    }
+                    break;
+                case C_LOOK:
+                    target = pending.ceiling(head);
+                    if (target < 0) {
+                        target = pending.first();
+                        jump = true;
+                    }
+                    break;
+            }
+        }
+
+        private void moveTo(int cylinder, boolean isJump) {
+            if (cylinder == head) return;
+            // the head may have waited since the last point
+            if (pathTime[pathSize - 1] != now || pathCylinder[pathSize - 1] != head) addPoint(now, head, false);
+            long distance = Math.abs(cylinder - head);
+            moved += distance;
+            now += model.seekTime(distance);
+            head = cylinder;
+            addPoint(now, head, isJump);
+        }
+
+        // services the requests waiting at the head
+        private void serve() {
+            if (pending == null) {
+                record(order[served]);
+            } else {
+                int c = pending.indexOf(head);
+                int count = 0;
+                for (int r = firstWaiting[c]; r >= 0; r = nextWaiting[r]) {
+                    record(r);
+                    count++;
+                }
+                firstWaiting[c] = -1;
+                pending.add(c, -count);
+            }
+            // the head stays on the cylinder while it services
+            if (serviceTime > 0) addPoint(now, head, false);
+        }
+
+        private void record(int r) {
+            now += serviceTime;
+            serviceOrder[served] = r;
+            completionTime[served] = now;
+            seekDistance[served] = moved;
+            moved = 0;
+            served++;
+        }
+
+        private void addPoint(long time, int cylinder, boolean isJump) {
+            if (pathSize == pathTime.length) {
+                int capacity = pathSize + (pathSize >> 1) + 1;
+                pathTime = Arrays.copyOf(pathTime, capacity);
+                pathCylinder = Arrays.copyOf(pathCylinder, capacity);
+                pathJump = Arrays.copyOf(pathJump, capacity);
+            }
+            pathTime[pathSize] = time;
+            pathCylinder[pathSize] = cylinder;
+            pathJump[pathSize] = isJump;
+            pathSize++;
+        }
+    }
+
+    // multiset of waiting cylinders, a Fenwick tree of counts over the sorted distinct cylinders
+    private static final class CylinderSet {
+        private final int[] values;
+        private final int[] tree;
+        private final int highBit;
+        private int total;
+
+        CylinderSet(int[] values) {
+            this.values = values;
+            this.tree = new int[values.length + 1];
+            this.highBit = values.length == 0 ? 0 : Integer.highestOneBit(values.length);
+        }
+
+        // index of cylinder in values, it must be one of them
+        int indexOf(int cylinder) {
+            return lowerBound(cylinder);
+        }
+
+        void add(int index, int delta) {
+            total += delta;
+            for (int i = index + 1; i < tree.length; i += i & -i) tree[i] += delta;
+        }
+
+        // waiting requests on cylinders below values[index]
+        private int countBelow(int index) {
+            int sum = 0;
+            for (int i = index; i > 0; i -= i & -i) sum += tree[i];
+            return sum;
+        }
+
+        // index of the cylinder of the k-th waiting request (0-based) in cylinder order
+        private int kth(int k) {
+            int position = 0;
+            for (int step = highBit; step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < tree.length && tree[next] <= k) {
+                    position = next;
+                    k -= tree[next];
+                }
+            }
+            return position;
+        }
+
+        // lowest waiting cylinder at or above cylinder, -1 if none
+        int ceiling(int cylinder) {
+            int below = countBelow(lowerBound(cylinder));
+            return below == total ? -1 : values[kth(below)];
+        }
+
+        // highest waiting cylinder at or below cylinder, -1 if none
+        int floor(int cylinder) {
+            int atOrBelow = countBelow(lowerBound(cylinder + 1));
+            return atOrBelow == 0 ? -1 : values[kth(atOrBelow - 1)];
+        }
+
+        int first() {
+            return values[kth(0)];
+        }
+
+        // first index whose cylinder is >= key
+        private int lowerBound(int key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < key) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
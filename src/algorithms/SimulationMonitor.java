@@ -0,0 +1,20 @@
+package algorithms;
+
+// Lets a long simulation report progress and be cancelled from another thread.
+// Engines call it every few thousand steps and throw a CancellationException once it is cancelled.
+public interface SimulationMonitor {
+    SimulationMonitor NONE = new SimulationMonitor() {
+        @Override
+        public void progress(long done, long total) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    void progress(long done, long total);
+
+    boolean isCancelled();
+}
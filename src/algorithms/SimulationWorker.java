@@ -0,0 +1,99 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+// Runs a simulation (and any file import before it) off the Event Dispatch Thread.
+// A progress dialog with a Cancel button appears if the run takes longer than a moment,
+// and the result is handed to onDone back on the EDT.
+public class SimulationWorker<T> extends SwingWorker<T, Void> implements SimulationMonitor {
+    private static final int DIALOG_DELAY_MS = 300;
+
+    public interface Task<T> {
+        T run(SimulationMonitor monitor) throws Exception;
+    }
+
+    private final String title;
+    private final Task<T> task;
+    private final Consumer<T> onDone;
+
+    private JDialog dialog;
+    private Timer dialogTimer;
+
+    private SimulationWorker(String title, Task<T> task, Consumer<T> onDone) {
+        this.title = title;
+        this.task = task;
+        this.onDone = onDone;
+    }
+
+    // call on the EDT
+    public static <T> void start(String title, Task<T> task, Consumer<T> onDone) {
+        SimulationWorker<T> worker = new SimulationWorker<>(title, task, onDone);
+        worker.dialogTimer = new Timer(DIALOG_DELAY_MS, e -> {
+            if (!worker.isDone()) worker.showDialog();
+        });
+        worker.dialogTimer.setRepeats(false);
+        worker.dialogTimer.start();
+        worker.execute();
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return task.run(this);
+    }
+
+    @Override
+    public void progress(long done, long total) {
+        if (total > 0) setProgress((int) Math.min(100, done * 100 / total));
+    }
+
+    private void showDialog() {
+        JProgressBar bar = new JProgressBar(0, 100);
+        bar.setStringPainted(true);
+        bar.setValue(getProgress());
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) bar.setValue((Integer) e.getNewValue());
+        });
+
+        JButton btnCancel = new JButton("Cancel");
+        btnCancel.addActionListener(e -> {
+            btnCancel.setEnabled(false);
+            cancel(false);
+        });
+
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(new EmptyBorder(15, 15, 15, 15));
+        panel.add(new JLabel("Simulating " + title + "..."), BorderLayout.NORTH);
+        panel.add(bar, BorderLayout.CENTER);
+        panel.add(btnCancel, BorderLayout.SOUTH);
+
+        dialog = new JDialog((Frame) null, title, false);
+        dialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        dialog.setContentPane(panel);
+        dialog.setSize(350, 150);
+        dialog.setLocationRelativeTo(null);
+        dialog.setVisible(true);
+    }
+
+    @Override
+    protected void done() {
+        dialogTimer.stop();
+        if (dialog != null) dialog.dispose();
+
+        if (isCancelled()) return;
+        try {
+            onDone.accept(get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CancellationException) return;
+            JOptionPane.showMessageDialog(null, "Error: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            cause.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package algorithms;
+
+// Result of a multi-core run: one timeline per core plus the cost of moving processes between cores.
+public class SmpScheduleResult extends ScheduleResult {
+    private final long migrations;
+    private final long migrationTime;
+
+    public SmpScheduleResult(ProcessTable table, Timeline[] timelines, long contextSwitches, long migrations, long migrationTime) {
+        super(table, timelines, contextSwitches, migrationTime);
+        this.migrations = migrations;
+        this.migrationTime = migrationTime;
+    }
+
+    SmpScheduleResult(Workload workload, Timeline[] timelines, TimeColumn completedTime, TimeColumn firstRunTime, TimeColumn longestWait,
+                      long contextSwitches, long migrations, long migrationTime) {
+        super(workload, timelines, completedTime, firstRunTime, longestWait, contextSwitches, migrationTime);
+        this.migrations = migrations;
+        this.migrationTime = migrationTime;
+    }
+
+    public long getMigrations() {
+        return migrations;
+    }
+
+    // total time the cores spent on migration overhead
+    public long getMigrationTime() {
+        return migrationTime;
+    }
+}
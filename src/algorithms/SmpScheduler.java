@@ -0,0 +1,366 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+// Symmetric multiprocessing: every core has its own run queue ordered by a heap policy and its
+// own timeline. An arriving process is placed on one core, round robin or on the least loaded
+// one. With work stealing a core that runs out of work takes the best process of the core with
+// the longest run queue; the moved process first pays migrationCost as overhead (cold cache).
+//
+// Cores are found through segment trees over their loads and the pending completions are kept
+// in one heap, so every event costs O(log cores + log processes).
+public class SmpScheduler implements Scheduler {
+    public static final int MAX_CORES = 1 << 20;
+
+    public enum LoadBalancing {
+        NONE("round robin placement"),
+        LEAST_LOADED("least loaded placement"),
+        WORK_STEALING("work stealing");
+
+        private final String label;
+
+        LoadBalancing(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final HeapPolicy policy;
+    private final int cores;
+    private final LoadBalancing balancing;
+    private final int migrationCost;
+
+    public SmpScheduler(HeapPolicy policy, int cores, LoadBalancing balancing, int migrationCost) {
+        if (cores < 1 || cores > MAX_CORES) throw new IllegalArgumentException("Number of cores must be between 1 and " + MAX_CORES + ": " + cores);
+        if (migrationCost < 0) throw new IllegalArgumentException("Migration cost cannot be negative: " + migrationCost);
+        this.policy = policy;
+        this.cores = cores;
+        this.balancing = balancing;
+        this.migrationCost = migrationCost;
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public LoadBalancing getLoadBalancing() {
+        return balancing;
+    }
+
+    public int getMigrationCost() {
+        return migrationCost;
+    }
+
+    @Override
+    public String getName() {
+        return policy.getName() + " (" + cores + " cores, " + balancing + ")";
+    }
+
+    @Override
+    public String getCacheKey() {
+        String policyKey = policy.getCacheKey();
+        return policyKey == null ? null : "smp " + policyKey + " " + cores + " " + balancing.name() + " " + migrationCost;
+    }
+
+    @Override
+    public SmpScheduleResult simulate(Workload workload) {
+        return simulate(workload, SimulationMonitor.NONE);
+    }
+
+    @Override
+    public SmpScheduleResult simulate(Workload workload, SimulationMonitor monitor) {
+        Run run = new Run(new ProcessTable(workload));
+        run.simulate(workload.getArrivalOrder(), monitor);
+
+        for (Timeline lane : run.lanes) lane.trimToSize();
+        ProcessTable table = run.table;
+        return new SmpScheduleResult(table, run.lanes, run.contextSwitches, run.migrations, run.migrationTime);
+    }
+
+    // state of one simulation, per core unless noted
+    private class Run {
+        private static final int CORE_BITS = 21;
+        private static final long CORE_MASK = (1L << CORE_BITS) - 1;
+        // completion times must fit in the event key next to the core
+        private static final long MAX_TIME = Long.MAX_VALUE >>> CORE_BITS;
+        private static final int NO_EVENT = -1;
+
+        final ProcessTable table;
+        // migration overhead a process still has to pay before it makes progress
+        final int[] penalty;
+
+        final IntHeap[] queues;
+        final int[] running;
+        // last process that ran on the core
+        final int[] loaded;
+        final long[] runStart;
+        final long[] idleSince;
+        final long[] eventTime;
+        final Timeline[] lanes;
+        final CoreTree leastLoaded;
+        final CoreTree longestQueue;
+
+        // completions as (time << CORE_BITS | core), entries whose time no longer matches eventTime are stale
+        final LongHeap events = new LongHeap();
+        final int[] dirty;
+        final boolean[] isDirty;
+        int dirtyCount;
+        int nextCore;
+        long contextSwitches;
+        long migrations;
+        long migrationTime;
+        int completed;
+
+        Run(ProcessTable table) {
+            this.table = table;
+            this.penalty = new int[table.size()];
+            this.queues = new IntHeap[cores];
+            this.running = new int[cores];
+            this.loaded = new int[cores];
+            this.runStart = new long[cores];
+            this.idleSince = new long[cores];
+            this.eventTime = new long[cores];
+            this.lanes = new Timeline[cores];
+            this.dirty = new int[cores];
+            this.isDirty = new boolean[cores];
+            this.leastLoaded = new CoreTree(cores, false);
+            this.longestQueue = new CoreTree(cores, true);
+
+            SchedulingPolicy.ProcessComparator comparator = policy.getComparator();
+            for (int c = 0; c < cores; c++) {
+                queues[c] = new IntHeap((a, b) -> comparator.compare(table, a, b), 4);
+                lanes[c] = new Timeline(4);
+            }
+            Arrays.fill(running, -1);
+            Arrays.fill(loaded, -1);
+            Arrays.fill(eventTime, NO_EVENT);
+        }
+
+        void simulate(int[] arrivals, SimulationMonitor monitor) {
+            int total = table.size();
+            int nextArrival = 0;
+            int steps = 0;
+
+            while (completed < total) {
+                if (++steps % CHECK_INTERVAL == 0) {
+                    if (monitor.isCancelled()) throw new CancellationException();
+                    monitor.progress(completed, total);
+                }
+
+                long nextCompletion = events.isEmpty() ? Long.MAX_VALUE : events.peek() >>> CORE_BITS;
+                long nextArrivalTime = nextArrival < total ? table.getArrivalTime(arrivals[nextArrival]) : Long.MAX_VALUE;
+                long now = Math.min(nextCompletion, nextArrivalTime);
+
+                while (!events.isEmpty() && events.peek() >>> CORE_BITS == now) {
+                    int c = (int) (events.poll() & CORE_MASK);
+                    if (eventTime[c] != now) continue;
+                    eventTime[c] = NO_EVENT;
+                    advance(c, now);
+                    markDirty(c);
+                }
+
+                while (nextArrival < total && table.getArrivalTime(arrivals[nextArrival]) == now) {
+                    int p = arrivals[nextArrival++];
+                    table.readySince.set(p, now);
+                    int c = place();
+                    queues[c].add(p);
+                    updateLoad(c);
+                    markDirty(c);
+                }
+
+                for (int i = 0; i < dirtyCount; i++) {
+                    isDirty[dirty[i]] = false;
+                    reschedule(dirty[i], now);
+                }
+                dirtyCount = 0;
+                if (balancing == LoadBalancing.WORK_STEALING) stealForIdleCores(now);
+            }
+        }
+
+        private int place() {
+            if (balancing != LoadBalancing.NONE) return leastLoaded.best();
+            int c = nextCore;
+            nextCore = (nextCore + 1) % cores;
+            return c;
+        }
+
+        private void markDirty(int c) {
+            if (isDirty[c]) return;
+            isDirty[c] = true;
+            dirty[dirtyCount++] = c;
+        }
+
+        // books the work of the running process on core c up to now
+        private void advance(int c, long now) {
+            int p = running[c];
+            if (p < 0) return;
+            long start = runStart[c];
+            int overhead = (int) Math.min(now - start, penalty[p]);
+            lanes[c].add(Timeline.OVERHEAD, start, start + overhead);
+            lanes[c].add(table.getPid(p), start + overhead, now);
+            penalty[p] -= overhead;
+            table.remaining[p] -= (int) (now - start - overhead);
+            runStart[c] = now;
+
+            if (table.remaining[p] == 0) {
+                table.completedTime.set(p, now);
+                completed++;
+                running[c] = -1;
+                idleSince[c] = now;
+                updateLoad(c);
+            }
+        }
+
+        private void reschedule(int c, long now) {
+            IntHeap queue = queues[c];
+            int previous = running[c];
+            if (previous >= 0) {
+                if (!policy.isPreemptive() || queue.isEmpty()) return;
+                // put the running process back so a better one can take the core
+                advance(c, now);
+                queue.add(previous);
+            }
+
+            if (queue.isEmpty() && balancing == LoadBalancing.WORK_STEALING) steal(c);
+            if (queue.isEmpty()) return;
+
+            int next = queue.poll();
+            if (next != previous) {
+                if (previous >= 0) {
+                    table.readySince.set(previous, now);
+                } else {
+                    lanes[c].add(Timeline.IDLE, idleSince[c], now);
+                }
+                table.dispatched(next, now);
+            }
+            if (next != loaded[c]) {
+                if (loaded[c] >= 0) contextSwitches++;
+                loaded[c] = next;
+            }
+            running[c] = next;
+            runStart[c] = now;
+            updateLoad(c);
+
+            long finish = now + penalty[next] + table.remaining[next];
+            if (finish > MAX_TIME) throw new IllegalArgumentException("Multi-core simulation time cannot exceed " + MAX_TIME + ": " + finish);
+            if (finish != eventTime[c]) {
+                eventTime[c] = finish;
+                events.add((finish << CORE_BITS) | c);
+            }
+        }
+
+        // a core only steals when it is rescheduled, so one that went idle earlier would not see work
+        // queued on other cores since; idle cores take waiting processes until either runs out
+        private void stealForIdleCores(long now) {
+            while (leastLoaded.value(leastLoaded.best()) == 0 && longestQueue.value(longestQueue.best()) > 0) {
+                reschedule(leastLoaded.best(), now);
+            }
+        }
+
+        private void steal(int c) {
+            int victim = longestQueue.best();
+            if (longestQueue.value(victim) == 0) return;
+
+            int p = queues[victim].poll();
+            updateLoad(victim);
+            penalty[p] += migrationCost;
+            migrations++;
+            migrationTime += migrationCost;
+            queues[c].add(p);
+        }
+
+        private void updateLoad(int c) {
+            int queued = queues[c].size();
+            leastLoaded.set(c, queued + (running[c] >= 0 ? 1 : 0));
+            longestQueue.set(c, queued);
+        }
+    }
+
+    // smallest (or largest) value over the cores, lowest core on ties
+    private static final class CoreTree {
+        private final boolean max;
+        private final int leaves;
+        private final int[] value;
+        // index of the best core below every node
+        private final int[] tree;
+
+        CoreTree(int cores, boolean max) {
+            this.max = max;
+            int leaves = 1;
+            while (leaves < cores) leaves <<= 1;
+            this.leaves = leaves;
+            this.value = new int[leaves];
+            this.tree = new int[2 * leaves];
+            // padding leaves never win
+            Arrays.fill(value, cores, leaves, max ? -1 : Integer.MAX_VALUE);
+            for (int i = 0; i < leaves; i++) tree[leaves + i] = i;
+            for (int i = leaves - 1; i > 0; i--) tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+
+        private int better(int a, int b) {
+            if (value[a] == value[b]) return Math.min(a, b);
+            return (value[a] > value[b]) == max ? a : b;
+        }
+
+        void set(int core, int v) {
+            if (value[core] == v) return;
+            value[core] = v;
+            for (int i = (leaves + core) >>> 1; i > 0; i >>>= 1) tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+
+        int value(int core) {
+            return value[core];
+        }
+
+        int best() {
+            return tree[1];
+        }
+    }
+
+    // binary min-heap of longs
+    private static final class LongHeap {
+        private long[] heap = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        long poll() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+                if (last <= heap[child]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) heap[i] = last;
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package algorithms;
+
+// Aggregated metrics of one scheduler configuration over every workload of a sweep.
+public class SweepResult {
+    private final Scheduler scheduler;
+    private final int workloadCount;
+    private final long processCount;
+    private final long totalTurnAroundTime;
+    private final long totalWaitingTime;
+
+    public SweepResult(Scheduler scheduler, int workloadCount, long processCount, long totalTurnAroundTime, long totalWaitingTime) {
+        this.scheduler = scheduler;
+        this.workloadCount = workloadCount;
+        this.processCount = processCount;
+        this.totalTurnAroundTime = totalTurnAroundTime;
+        this.totalWaitingTime = totalWaitingTime;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public int getWorkloadCount() {
+        return workloadCount;
+    }
+
+    public long getProcessCount() {
+        return processCount;
+    }
+
+    public double getAverageTurnAroundTime() {
+        return processCount == 0 ? 0 : (double) totalTurnAroundTime / processCount;
+    }
+
+    public double getAverageWaitingTime() {
+        return processCount == 0 ? 0 : (double) totalWaitingTime / processCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: avg turnaround %.2f, avg waiting %.2f over %d workloads",
+            scheduler.getName(), getAverageTurnAroundTime(), getAverageWaitingTime(), workloadCount);
+    }
+}
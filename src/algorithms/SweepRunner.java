@@ -0,0 +1,133 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Runs every scheduler configuration on every workload in parallel and aggregates the averages
+// per configuration. Schedulers keep their state per run, so the simulations share nothing.
+public class SweepRunner {
+    // below this many simulations a task runs them itself instead of splitting further
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    private final ForkJoinPool pool;
+
+    public SweepRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SweepRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static List<Scheduler> roundRobinGrid(int... quanta) {
+        List<Scheduler> grid = new ArrayList<>();
+        for (int tq : quanta) grid.add(new RRScheduler(tq));
+        return grid;
+    }
+
+    // one result per configuration, in the same order as configurations
+    public List<SweepResult> run(List<Workload> workloads, List<Scheduler> configurations) {
+        Scheduler[] schedulers = configurations.toArray(new Scheduler[0]);
+        Workload[] inputs = workloads.toArray(new Workload[0]);
+
+        int runs = schedulers.length * inputs.length;
+        long[] turnAroundTime = new long[runs];
+        long[] waitingTime = new long[runs];
+        pool.invoke(new SimulationTask(schedulers, inputs, turnAroundTime, waitingTime, 0, runs));
+
+        long processCount = 0;
+        for (Workload workload : inputs) processCount += workload.size();
+
+        List<SweepResult> results = new ArrayList<>();
+        for (int c = 0; c < schedulers.length; c++) {
+            long totalTAT = 0;
+            long totalWT = 0;
+            for (int w = 0; w < inputs.length; w++) {
+                totalTAT += turnAroundTime[c * inputs.length + w];
+                totalWT += waitingTime[c * inputs.length + w];
+            }
+            results.add(new SweepResult(schedulers[c], inputs.length, processCount, totalTAT, totalWT));
+        }
+        return results;
+    }
+
+    // every scheduler on the same workload in parallel, the full results in the order of schedulers;
+    // progress is the average over the runs and cancelling stops all of them
+    public List<ScheduleResult> compare(Workload workload, List<Scheduler> schedulers, SimulationMonitor monitor) {
+        int runs = schedulers.size();
+        long[] done = new long[runs];
+        List<RecursiveTask<ScheduleResult>> tasks = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            Scheduler scheduler = schedulers.get(i);
+            int run = i;
+            SimulationMonitor runMonitor = new SimulationMonitor() {
+                @Override
+                public boolean isCancelled() {
+                    return monitor.isCancelled();
+                }
+
+                @Override
+                public void progress(long completed, long total) {
+                    // per mille of every run, a lost update between threads only delays the bar
+                    done[run] = total == 0 ? 1000 : completed * 1000 / total;
+                    monitor.progress(Arrays.stream(done).sum(), 1000L * runs);
+                }
+            };
+            tasks.add(new RecursiveTask<ScheduleResult>() {
+                @Override
+                protected ScheduleResult compute() {
+                    return scheduler.simulate(workload, runMonitor);
+                }
+            });
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        List<ScheduleResult> results = new ArrayList<>();
+        for (RecursiveTask<ScheduleResult> task : tasks) results.add(task.join());
+        return results;
+    }
+
+    // run i is configuration i / workloads on workload i % workloads
+    private static class SimulationTask extends RecursiveAction {
+        private final Scheduler[] schedulers;
+        private final Workload[] workloads;
+        private final long[] turnAroundTime;
+        private final long[] waitingTime;
+        private final int from;
+        private final int to;
+
+        SimulationTask(Scheduler[] schedulers, Workload[] workloads, long[] turnAroundTime, long[] waitingTime, int from, int to) {
+            this.schedulers = schedulers;
+            this.workloads = workloads;
+            this.turnAroundTime = turnAroundTime;
+            this.waitingTime = waitingTime;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    ScheduleResult result = schedulers[i / workloads.length].simulate(workloads[i % workloads.length]);
+                    turnAroundTime[i] = result.getTotalTurnAroundTime();
+                    waitingTime[i] = result.getTotalWaitingTime();
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SimulationTask(schedulers, workloads, turnAroundTime, waitingTime, from, mid),
+                      new SimulationTask(schedulers, workloads, turnAroundTime, waitingTime, mid, to));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package algorithms;
+
+// Cost of giving the CPU to another process. Every switch to a process other than the one that
+// ran last costs contextSwitch; a process that already ran before and now resumes after another
+// one also pays cacheReload, because its working set was pushed out of the cache. The very first
+// dispatch on an empty CPU is free.
+public class SwitchCost {
+    public static final SwitchCost NONE = new SwitchCost(0, 0);
+
+    private final int contextSwitch;
+    private final int cacheReload;
+
+    public SwitchCost(int contextSwitch, int cacheReload) {
+        if (contextSwitch < 0 || cacheReload < 0) throw new IllegalArgumentException("Switch costs cannot be negative");
+        this.contextSwitch = contextSwitch;
+        this.cacheReload = cacheReload;
+    }
+
+    // "cs" or "cs, reload" as typed in the dialogs, blank for no cost
+    public static SwitchCost parse(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) return NONE;
+        String[] parts = trimmed.split("[,\\s]+");
+        if (parts.length > 2) throw new IllegalArgumentException("Expected context switch cost and cache reload penalty: " + text);
+        int reload = parts.length == 2 ? Integer.parseInt(parts[1]) : 0;
+        return new SwitchCost(Integer.parseInt(parts[0]), reload);
+    }
+
+    public int getContextSwitch() {
+        return contextSwitch;
+    }
+
+    public int getCacheReload() {
+        return cacheReload;
+    }
+
+    public boolean isFree() {
+        return contextSwitch == 0 && cacheReload == 0;
+    }
+
+    // overhead of switching to a process, resumed when it ran before
+    public int overhead(boolean resumed) {
+        return resumed ? contextSwitch + cacheReload : contextSwitch;
+    }
+
+    // part of the cache keys of the schedulers
+    String getCacheKey() {
+        return contextSwitch + "/" + cacheReload;
+    }
+
+    @Override
+    public String toString() {
+        return "CS = " + contextSwitch + ", reload = " + cacheReload;
+    }
+}
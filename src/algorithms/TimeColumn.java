@@ -0,0 +1,98 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// Column of times that is stored as ints, half the memory and bandwidth, until the first value
+// that needs 64 bits arrives. Then it is copied to longs once and stays that way, so traces in
+// microseconds over days are exact without slowing down the runs that fit in an int.
+final class TimeColumn {
+    private int[] narrow;
+    private long[] wide;
+
+    TimeColumn(int size) {
+        this.narrow = new int[size];
+    }
+
+    // takes ownership of values
+    TimeColumn(int[] values) {
+        this.narrow = values;
+    }
+
+    // takes ownership of values, or stores them as ints when they all fit
+    TimeColumn(long[] values) {
+        for (long value : values) {
+            if (value != (int) value) {
+                this.wide = values;
+                return;
+            }
+        }
+        this.narrow = new int[values.length];
+        for (int i = 0; i < values.length; i++) narrow[i] = (int) values[i];
+    }
+
+    private TimeColumn(int[] narrow, long[] wide) {
+        this.narrow = narrow;
+        this.wide = wide;
+    }
+
+    int size() {
+        return wide == null ? narrow.length : wide.length;
+    }
+
+    boolean isWide() {
+        return wide != null;
+    }
+
+    // rough heap footprint, for ResultCache
+    long estimateBytes() {
+        return 16 + (wide == null ? 4L * narrow.length : 8L * wide.length);
+    }
+
+    long get(int i) {
+        return wide == null ? narrow[i] : wide[i];
+    }
+
+    void set(int i, long value) {
+        if (wide == null) {
+            if (value == (int) value) {
+                narrow[i] = (int) value;
+                return;
+            }
+            widen();
+        }
+        wide[i] = value;
+    }
+
+    void fill(long value) {
+        if (wide == null && value != (int) value) widen();
+        if (wide == null) Arrays.fill(narrow, (int) value);
+        else Arrays.fill(wide, value);
+    }
+
+    private void widen() {
+        wide = new long[narrow.length];
+        for (int i = 0; i < narrow.length; i++) wide[i] = narrow[i];
+        narrow = null;
+    }
+
+    TimeColumn copy() {
+        return copyOf(size());
+    }
+
+    // copy cut or padded with zeros to length
+    TimeColumn copyOf(int length) {
+        return wide == null ? new TimeColumn(Arrays.copyOf(narrow, length), null) : new TimeColumn(null, Arrays.copyOf(wide, length));
+    }
+
+    // copies count values from source at from to this column at to
+    void copyFrom(TimeColumn source, int from, int to, int count) {
+        if (source.wide != null && wide == null) widen();
+        if (wide == null) {
+            System.arraycopy(source.narrow, from, narrow, to, count);
+        } else if (source.wide != null) {
+            System.arraycopy(source.wide, from, wide, to, count);
+        } else {
+            for (int k = 0; k < count; k++) wide[to + k] = source.narrow[from + k];
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package algorithms;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Gantt chart stored as parallel columns (pid, start, end) instead of one object per segment, the
+// times as ints until one needs 64 bits.
+// A segment that continues the previous one with the same pid is merged into it.
+//
+// Full Round Robin rounds can be added as a block (the pids in queue order, the quantum, the
+// switch overhead before every slice and the number of rounds). Their segments are never stored,
+// they are computed when they are read.
+public class Timeline {
+    public static final int IDLE = -1;
+    // time the CPU spends on scheduling work instead of a process, e.g. migrating one to another core
+    public static final int OVERHEAD = -2;
+
+    private int[] pid;
+    private TimeColumn startTime;
+    private TimeColumn endTime;
+    private int size;
+    private long totalTime;
+
+    // blocks of repeated rounds, blockPosition is the number of plain segments before the block
+    private int[] blockPosition = new int[0];
+    private long[] blockFirstSegment = new long[0];
+    private long[] blockStartTime = new long[0];
+    private int[] blockQuantum = new int[0];
+    private int[] blockOverhead = new int[0];
+    private int[] blockRounds = new int[0];
+    private int[][] blockPids = new int[0][];
+    private int blockCount;
+    private long blockSegments;
+
+    public Timeline() {
+        this(16);
+    }
+
+    public Timeline(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        pid = new int[capacity];
+        startTime = new TimeColumn(capacity);
+        endTime = new TimeColumn(capacity);
+    }
+
+    public void add(int pid, long startTime, long endTime) {
+        if (endTime <= startTime) return;
+
+        int last = size - 1;
+        boolean blockIsLast = blockCount > 0 && blockPosition[blockCount - 1] == size;
+        if (last >= 0 && !blockIsLast && this.pid[last] == pid && this.endTime.get(last) == startTime) {
+            this.endTime.set(last, endTime);
+            totalTime = endTime;
+            return;
+        }
+        append(pid, startTime, endTime);
+    }
+
+    // adds the segment as it is, without merging it into the previous one
+    void append(int pid, long startTime, long endTime) {
+        if (size == this.pid.length) grow();
+        this.pid[size] = pid;
+        this.startTime.set(size, startTime);
+        this.endTime.set(size, endTime);
+        size++;
+        totalTime = endTime;
+    }
+
+    // pids are the processes in queue order, each runs one quantum per round; the array is kept as is
+    public void addRounds(int[] pids, long startTime, int quantum, int rounds) {
+        addRounds(pids, startTime, quantum, 0, rounds);
+    }
+
+    // same, with an OVERHEAD segment of the given length before every slice
+    public void addRounds(int[] pids, long startTime, int quantum, int overhead, int rounds) {
+        if (pids.length == 0 || rounds <= 0) return;
+        if (pids.length == 1 && overhead == 0) {
+            add(pids[0], startTime, startTime + (long) quantum * rounds);
+            return;
+        }
+
+        if (blockCount == blockPosition.length) growBlocks();
+        blockPosition[blockCount] = size;
+        blockFirstSegment[blockCount] = size + blockSegments;
+        blockStartTime[blockCount] = startTime;
+        blockQuantum[blockCount] = quantum;
+        blockOverhead[blockCount] = overhead;
+        blockRounds[blockCount] = rounds;
+        blockPids[blockCount] = pids;
+        blockCount++;
+
+        blockSegments += blockEnd(blockCount - 1) - blockFirstSegment[blockCount - 1];
+        totalTime = startTime + (long) pids.length * (quantum + overhead) * rounds;
+    }
+
+    private void grow() {
+        int capacity = pid.length + (pid.length >> 1) + 1;
+        pid = Arrays.copyOf(pid, capacity);
+        startTime = startTime.copyOf(capacity);
+        endTime = endTime.copyOf(capacity);
+    }
+
+    private void growBlocks() {
+        int capacity = blockPosition.length + (blockPosition.length >> 1) + 4;
+        blockPosition = Arrays.copyOf(blockPosition, capacity);
+        blockFirstSegment = Arrays.copyOf(blockFirstSegment, capacity);
+        blockStartTime = Arrays.copyOf(blockStartTime, capacity);
+        blockQuantum = Arrays.copyOf(blockQuantum, capacity);
+        blockOverhead = Arrays.copyOf(blockOverhead, capacity);
+        blockRounds = Arrays.copyOf(blockRounds, capacity);
+        blockPids = Arrays.copyOf(blockPids, capacity);
+    }
+
+    // copy of the first count segments, the last one ending at lastEnd; timelines without blocks only
+    Timeline copyPrefix(int count, long lastEnd) {
+        if (blockCount > 0) throw new IllegalStateException("Timeline has blocks of rounds");
+        // room for exactly as many segments as this one, the copy usually ends up as long and
+        // then needs no trimming
+        Timeline copy = new Timeline(Math.max(count, size));
+        System.arraycopy(pid, 0, copy.pid, 0, count);
+        copy.startTime.copyFrom(startTime, 0, 0, count);
+        copy.endTime.copyFrom(endTime, 0, 0, count);
+        copy.size = count;
+        if (count > 0) {
+            copy.endTime.set(count - 1, lastEnd);
+            copy.totalTime = lastEnd;
+        }
+        return copy;
+    }
+
+    // appends the segments of other from index from on as they are, without merging; both
+    // timelines must be without blocks
+    void appendFrom(Timeline other, int from) {
+        if (blockCount > 0 || other.blockCount > 0) throw new IllegalStateException("Timeline has blocks of rounds");
+        int count = other.size - from;
+        if (count <= 0) return;
+        int capacity = size + count;
+        if (capacity > pid.length) {
+            pid = Arrays.copyOf(pid, capacity);
+            startTime = startTime.copyOf(capacity);
+            endTime = endTime.copyOf(capacity);
+        }
+        System.arraycopy(other.pid, from, pid, size, count);
+        startTime.copyFrom(other.startTime, from, size, count);
+        endTime.copyFrom(other.endTime, from, size, count);
+        size = capacity;
+        totalTime = endTime.get(size - 1);
+    }
+
+    // moves the end of the last segment, timelines without blocks only
+    void setLastEnd(long end) {
+        if (blockCount > 0) throw new IllegalStateException("Timeline has blocks of rounds");
+        endTime.set(size - 1, end);
+        totalTime = end;
+    }
+
+    public void trimToSize() {
+        if (size != pid.length) {
+            pid = Arrays.copyOf(pid, size);
+            startTime = startTime.copyOf(size);
+            endTime = endTime.copyOf(size);
+        }
+        if (blockCount != blockPosition.length) {
+            blockPosition = Arrays.copyOf(blockPosition, blockCount);
+            blockFirstSegment = Arrays.copyOf(blockFirstSegment, blockCount);
+            blockStartTime = Arrays.copyOf(blockStartTime, blockCount);
+            blockQuantum = Arrays.copyOf(blockQuantum, blockCount);
+            blockOverhead = Arrays.copyOf(blockOverhead, blockCount);
+            blockRounds = Arrays.copyOf(blockRounds, blockCount);
+            blockPids = Arrays.copyOf(blockPids, blockCount);
+        }
+    }
+
+    // rough heap footprint, for ResultCache
+    long estimateBytes() {
+        long bytes = 96 + 4L * pid.length + startTime.estimateBytes() + endTime.estimateBytes();
+        bytes += 40L * blockPosition.length;
+        for (int b = 0; b < blockCount; b++) bytes += 16 + 4L * blockPids[b].length;
+        return bytes;
+    }
+
+    // the plain segments and the blocks of rounds as they are stored, so a timeline of rounds
+    // does not turn into one segment per slice: the plain segment count, the block count and the
+    // block positions as deltas, then the plain segments as in the timeline file of ResultExporter
+    // with every block (start time, quantum, overhead, rounds and pids) in its place between them
+    void writeTo(ResultExporter.Output out) throws IOException {
+        out.putVarint(size);
+        out.putVarint(blockCount);
+        for (int b = 0; b < blockCount; b++) out.putVarint(blockPosition[b] - (b == 0 ? 0 : blockPosition[b - 1]));
+        long previousEnd = 0;
+        int b = 0;
+        for (int i = 0; i <= size; i++) {
+            for (; b < blockCount && blockPosition[b] == i; b++) {
+                out.putVarint(blockStartTime[b]);
+                out.putVarint(blockQuantum[b]);
+                out.putVarint(blockOverhead[b]);
+                out.putVarint(blockRounds[b]);
+                out.putVarint(blockPids[b].length);
+                for (int p : blockPids[b]) out.putVarint(ResultExporter.zigzag(p));
+                previousEnd = blockStartTime[b] + (long) blockPids[b].length * (blockQuantum[b] + blockOverhead[b]) * blockRounds[b];
+            }
+            if (i == size) break;
+            long start = startTime.get(i);
+            long end = endTime.get(i);
+            out.putVarint(ResultExporter.zigzag(pid[i]));
+            out.putVarint(start - previousEnd);
+            out.putVarint(end - start);
+            previousEnd = end;
+        }
+    }
+
+    static Timeline readFrom(ResultExporter.Input in) throws IOException {
+        long n = in.getVarint();
+        long blocks = in.getVarint();
+        if (n < 0 || n > Integer.MAX_VALUE - 8 || n > in.size / 3) throw new IOException("Invalid segment count " + n);
+        if (blocks < 0 || blocks > in.size / 6) throw new IOException("Invalid block count " + blocks);
+        int[] positions = new int[(int) blocks];
+        long position = 0;
+        for (int b = 0; b < blocks; b++) {
+            position += in.getVarint();
+            if (position > n) throw new IOException("Invalid block position " + position);
+            positions[b] = (int) position;
+        }
+
+        Timeline timeline = new Timeline((int) n);
+        long previousEnd = 0;
+        int b = 0;
+        for (int i = 0; i <= n; i++) {
+            for (; b < blocks && positions[b] == i; b++) {
+                long startTime = in.getVarint();
+                long quantum = in.getVarint();
+                long overhead = in.getVarint();
+                long rounds = in.getVarint();
+                long length = in.getVarint();
+                if (startTime < previousEnd || quantum < 1 || quantum > Integer.MAX_VALUE || overhead > Integer.MAX_VALUE
+                    || rounds < 1 || rounds > Integer.MAX_VALUE || length < 1 || length > in.size) {
+                    throw new IOException("Invalid block " + b);
+                }
+                int[] pids = new int[(int) length];
+                for (int k = 0; k < length; k++) pids[k] = (int) ResultExporter.unzigzag(in.getVarint());
+                timeline.addRounds(pids, startTime, (int) quantum, (int) overhead, (int) rounds);
+                previousEnd = timeline.totalTime;
+            }
+            if (i == n) break;
+            int segmentPid = (int) ResultExporter.unzigzag(in.getVarint());
+            long start = previousEnd + in.getVarint();
+            long end = start + in.getVarint();
+            if (end <= start || start < previousEnd) throw new IOException("Invalid segment " + i);
+            timeline.append(segmentPid, start, end);
+            previousEnd = end;
+        }
+        return timeline;
+    }
+
+    // a long, blocks of rounds can stand for more segments than an int counts
+    public long size() {
+        return size + blockSegments;
+    }
+
+    public boolean isEmpty() {
+        return size == 0 && blockCount == 0;
+    }
+
+    public int getPid(long i) {
+        if (blockCount == 0) return pid[(int) i];
+        int b = blockAt(i);
+        if (b >= 0 && i < blockEnd(b)) {
+            long local = i - blockFirstSegment[b];
+            if (blockOverhead[b] > 0) {
+                if ((local & 1) == 0) return OVERHEAD;
+                local >>= 1;
+            }
+            int[] pids = blockPids[b];
+            return pids[(int) (local % pids.length)];
+        }
+        return pid[plainIndex(i, b)];
+    }
+
+    public long getStartTime(long i) {
+        if (blockCount == 0) return startTime.get((int) i);
+        int b = blockAt(i);
+        if (b >= 0 && i < blockEnd(b)) {
+            return blockSegmentStart(b, i - blockFirstSegment[b]);
+        }
+        return startTime.get(plainIndex(i, b));
+    }
+
+    public long getEndTime(long i) {
+        if (blockCount == 0) return endTime.get((int) i);
+        int b = blockAt(i);
+        if (b >= 0 && i < blockEnd(b)) {
+            long local = i - blockFirstSegment[b];
+            if (blockOverhead[b] > 0 && (local & 1) == 0) return blockSegmentStart(b, local) + blockOverhead[b];
+            return blockSegmentStart(b, local) + blockQuantum[b];
+        }
+        return endTime.get(plainIndex(i, b));
+    }
+
+    // copies up to count segments from index from on into the arrays, returns how many; the block
+    // of rounds is looked up once instead of once per segment as the getters do
+    int read(long from, int[] pids, long[] starts, long[] ends, int count) {
+        int n = (int) Math.max(0, Math.min(count, size() - from));
+        int b = blockAt(from);
+        for (int k = 0; k < n; k++) {
+            long i = from + k;
+            while (b + 1 < blockCount && blockFirstSegment[b + 1] <= i) b++;
+            if (b >= 0 && i < blockEnd(b)) {
+                long local = i - blockFirstSegment[b];
+                long start = blockSegmentStart(b, local);
+                int overhead = blockOverhead[b];
+                if (overhead > 0 && (local & 1) == 0) {
+                    pids[k] = OVERHEAD;
+                    ends[k] = start + overhead;
+                } else {
+                    int[] blockPid = blockPids[b];
+                    pids[k] = blockPid[(int) ((overhead > 0 ? local >> 1 : local) % blockPid.length)];
+                    ends[k] = start + blockQuantum[b];
+                }
+                starts[k] = start;
+            } else {
+                int p = plainIndex(i, b);
+                pids[k] = pid[p];
+                starts[k] = startTime.get(p);
+                ends[k] = endTime.get(p);
+            }
+        }
+        return n;
+    }
+
+    public boolean isIdle(long i) {
+        return getPid(i) == IDLE;
+    }
+
+    public boolean isOverhead(long i) {
+        return getPid(i) == OVERHEAD;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    // index of the last segment starting at or before time, 0 if time is before the first one
+    public long indexAt(long time) {
+        long low = 0;
+        long high = size() - 1;
+        long found = 0;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            if (getStartTime(mid) <= time) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // last block starting at or before segment i, -1 if none
+    private int blockAt(long i) {
+        int low = 0;
+        int high = blockCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blockFirstSegment[mid] <= i) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private long blockEnd(int b) {
+        long slices = (long) blockPids[b].length * blockRounds[b];
+        return blockFirstSegment[b] + (blockOverhead[b] > 0 ? 2 * slices : slices);
+    }
+
+    // start of the local-th segment of block b, every slice is the overhead (if any) and one quantum
+    private long blockSegmentStart(int b, long local) {
+        int overhead = blockOverhead[b];
+        if (overhead == 0) return blockStartTime[b] + local * blockQuantum[b];
+        long sliceStart = blockStartTime[b] + (local >> 1) * (blockQuantum[b] + overhead);
+        return (local & 1) == 0 ? sliceStart : sliceStart + overhead;
+    }
+
+    private int plainIndex(long i, int b) {
+        if (b < 0) return (int) i;
+        return (int) (i - (blockEnd(b) - blockPosition[b]));
+    }
+}
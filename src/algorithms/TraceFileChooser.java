@@ -0,0 +1,41 @@
+package algorithms;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.nio.file.Path;
+
+public class TraceFileChooser {
+
+    private TraceFileChooser() {
+    }
+
+    // true if the user picked "Import Trace File" instead of typing the values in
+    public static boolean askImport(String title) {
+        Object[] options = {"Enter Manually", "Import Trace File"};
+        int choice = JOptionPane.showOptionDialog(null, "How do you want to provide the input?", title,
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        return choice == 1;
+    }
+
+    public enum Source {
+        MANUAL, IMPORT, GENERATE
+    }
+
+    // how the user wants to provide the processes, null when the dialog was closed
+    public static Source askSource(String title) {
+        Object[] options = {"Enter Manually", "Import Trace File", "Generate"};
+        int choice = JOptionPane.showOptionDialog(null, "How do you want to provide the input?", title,
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        return choice < 0 ? null : Source.values()[choice];
+    }
+
+    // null when cancelled
+    public static Path choose(Component parent) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Trace File (CSV or binary)");
+        chooser.setFileFilter(new FileNameExtensionFilter("Trace files (*.csv, *.txt, *.bin)", "csv", "txt", "bin"));
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return null;
+        return chooser.getSelectedFile().toPath();
+    }
+}
@@ -0,0 +1,346 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Loads process traces and disk request lists through memory-mapped files.
+//
+// CSV: one "pid,arrival,burst[,priority]" row per line for processes, any list of cylinders separated
+// by commas, spaces or new lines for disk requests. Lines starting with '#' or a letter are skipped,
+// as is a UTF-8 byte order mark; an empty field or a sign without digits is an error that names its
+// line and column. The bytes are parsed in place, no String is created per field.
+//
+// Binary: a 16 byte header (magic, version, record count as long) followed by little-endian ints,
+// four per process (pid, arrival, burst, priority) or one per disk request. Version 2 workloads
+// store the arrival as a long, the writer only uses it when some arrival needs 64 bits.
+public class TraceImporter {
+    public static final int WORKLOAD_MAGIC = 0x5441534F; // "OSAT"
+    public static final int DISK_MAGIC = 0x4441534F;     // "OSAD"
+    public static final int VERSION = 1;
+    public static final int WIDE_VERSION = 2;
+    static final int HEADER_BYTES = 16;
+
+    // files are mapped in windows of this size so traces larger than 2 GB work too
+    private static final long WINDOW_BYTES = 1L << 28;
+
+    private TraceImporter() {
+    }
+
+    public static Workload readWorkload(Path file) throws IOException {
+        return isCsv(file) ? readWorkloadCsv(file) : readWorkloadBinary(file);
+    }
+
+    public static int[] readDiskRequests(Path file) throws IOException {
+        return isCsv(file) ? readDiskRequestsCsv(file) : readDiskRequestsBinary(file);
+    }
+
+    public static boolean isCsv(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".csv") || name.endsWith(".txt");
+    }
+
+    public static Workload readWorkloadCsv(Path file) throws IOException {
+        IntColumn pid = new IntColumn();
+        TimeColumnBuilder arrivalTime = new TimeColumnBuilder();
+        IntColumn burstTime = new IntColumn();
+        IntColumn priority = new IntColumn();
+
+        parseCsv(file, (fields, count, line) -> {
+            if (count < 3 || count > 4) throw new IOException("Expected pid,arrival,burst[,priority] at line " + line);
+            pid.add(toInt(fields[0], line));
+            arrivalTime.add(fields[1]);
+            burstTime.add(toInt(fields[2], line));
+            priority.add(count == 4 ? toInt(fields[3], line) : 0);
+        });
+
+        return toWorkload(pid.toArray(), arrivalTime.toColumn(), burstTime.toArray(), priority.toArray());
+    }
+
+    public static int[] readDiskRequestsCsv(Path file) throws IOException {
+        IntColumn requests = new IntColumn();
+        parseCsv(file, (fields, count, line) -> {
+            for (int i = 0; i < count; i++) requests.add(toInt(fields[i], line));
+        });
+        return requests.toArray();
+    }
+
+    public static Workload readWorkloadBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            boolean wide = readVersion(channel, WORKLOAD_MAGIC, WIDE_VERSION) == WIDE_VERSION;
+            int recordBytes = wide ? 20 : 16;
+            int n = readCount(channel, recordBytes);
+            int[] pid = new int[n];
+            TimeColumn arrivalTime = new TimeColumn(n);
+            int[] burstTime = new int[n];
+            int[] priority = new int[n];
+
+            int record = 0;
+            long position = HEADER_BYTES;
+            long end = HEADER_BYTES + (long) recordBytes * n;
+            while (position < end) {
+                // whole records per window
+                long length = Math.min(WINDOW_BYTES / recordBytes * recordBytes, end - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                while (buffer.hasRemaining()) {
+                    pid[record] = buffer.getInt();
+                    arrivalTime.set(record, wide ? buffer.getLong() : buffer.getInt());
+                    burstTime[record] = buffer.getInt();
+                    priority[record] = buffer.getInt();
+                    record++;
+                }
+                position += length;
+            }
+            return toWorkload(pid, arrivalTime, burstTime, priority);
+        }
+    }
+
+    public static int[] readDiskRequestsBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            readVersion(channel, DISK_MAGIC, VERSION);
+            int n = readCount(channel, 4);
+            int[] requests = new int[n];
+
+            int record = 0;
+            long position = HEADER_BYTES;
+            long end = HEADER_BYTES + 4L * n;
+            while (position < end) {
+                long length = Math.min(WINDOW_BYTES, end - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                int count = (int) (length / 4);
+                buffer.asIntBuffer().get(requests, record, count);
+                record += count;
+                position += length;
+            }
+            return requests;
+        }
+    }
+
+    // writes the binary format read by readWorkloadBinary, e.g. to convert a CSV trace once
+    public static void writeWorkloadBinary(Path file, Workload workload) throws IOException {
+        boolean wide = workload.isWide();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(WORKLOAD_MAGIC).putInt(wide ? WIDE_VERSION : VERSION).putLong(workload.size());
+            for (int i = 0; i < workload.size(); i++) {
+                if (buffer.remaining() < 20) drain(channel, buffer);
+                buffer.putInt(workload.getPid(i));
+                if (wide) buffer.putLong(workload.getArrivalTime(i));
+                else buffer.putInt((int) workload.getArrivalTime(i));
+                buffer.putInt(workload.getBurstTime(i));
+                buffer.putInt(workload.getPriority(i));
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    public static void writeDiskRequestsBinary(Path file, int[] requests) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(DISK_MAGIC).putInt(VERSION).putLong(requests.length);
+            for (int request : requests) {
+                if (buffer.remaining() < 4) drain(channel, buffer);
+                buffer.putInt(request);
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private static int readVersion(FileChannel channel, int magic, int maxVersion) throws IOException {
+        MappedByteBuffer header = mapHeader(channel);
+        if (header.getInt() != magic) throw new IOException("Not a trace file of the expected kind");
+        int version = header.getInt();
+        if (version < VERSION || version > maxVersion) throw new IOException("Unsupported trace version " + version);
+        return version;
+    }
+
+    private static int readCount(FileChannel channel, int recordBytes) throws IOException {
+        long count = mapHeader(channel).getLong(8);
+
+        if (count < 0 || count > Integer.MAX_VALUE - 8) throw new IOException("Invalid record count " + count);
+        if (channel.size() < HEADER_BYTES + count * recordBytes) throw new IOException("File is shorter than its record count");
+        return (int) count;
+    }
+
+    private static MappedByteBuffer mapHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) throw new IOException("File is too short for a trace header");
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        return header;
+    }
+
+    private static Workload toWorkload(int[] pid, TimeColumn arrivalTime, int[] burstTime, int[] priority) throws IOException {
+        try {
+            return Workload.wrap(pid, arrivalTime, burstTime, priority);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private interface RowHandler {
+        void row(long[] fields, int count, long line) throws IOException;
+    }
+
+    // byte level state machine, so rows may cross the boundary between two mapped windows
+    private static void parseCsv(Path file, RowHandler handler) throws IOException {
+        long[] fields = new long[16];
+        int count = 0;
+        long value = 0;
+        boolean inNumber = false;
+        boolean negative = false;
+        long signColumn = 0;
+        // a ',' or ';' was read and no number after it yet
+        boolean separated = false;
+        boolean skipLine = false;
+        boolean lineStart = true;
+        long line = 1;
+        long column = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += WINDOW_BYTES) {
+                long length = Math.min(WINDOW_BYTES, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int i = 0;
+                // UTF-8 byte order mark, as some spreadsheets write it
+                if (position == 0 && length >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) i = 3;
+
+                for (int end = (int) length; i < end; i++) {
+                    byte b = buffer.get(i);
+
+                    if (b == '\n') {
+                        if (inNumber) {
+                            fields = ensureCapacity(fields, count);
+                            count = addField(fields, count, negative ? -value : value);
+                            inNumber = false;
+                        } else if (negative) {
+                            throw error("Sign without a number", line, signColumn);
+                        } else if (separated) {
+                            throw error("Empty field", line, column + 1);
+                        }
+                        if (count > 0) handler.row(fields, count, line);
+                        count = 0;
+                        negative = false;
+                        separated = false;
+                        skipLine = false;
+                        lineStart = true;
+                        line++;
+                        column = 0;
+                        continue;
+                    }
+                    if (skipLine) continue;
+                    // columns count characters, not the continuation bytes of UTF-8
+                    if ((b & 0xC0) != 0x80) column++;
+
+                    if (b >= '0' && b <= '9') {
+                        if (inNumber && value > (Long.MAX_VALUE - 9) / 10) throw error("Number too large", line, column);
+                        value = inNumber ? value * 10 + (b - '0') : b - '0';
+                        inNumber = true;
+                        separated = false;
+                    } else if (b == ',' || b == ';') {
+                        if (inNumber) {
+                            fields = ensureCapacity(fields, count);
+                            count = addField(fields, count, negative ? -value : value);
+                            inNumber = false;
+                        } else if (negative) {
+                            throw error("Sign without a number", line, signColumn);
+                        } else if (separated || count == 0) {
+                            throw error("Empty field", line, column);
+                        }
+                        negative = false;
+                        separated = true;
+                    } else if (b == ' ' || b == '\t' || b == '\r') {
+                        if (inNumber) {
+                            fields = ensureCapacity(fields, count);
+                            count = addField(fields, count, negative ? -value : value);
+                            inNumber = false;
+                        } else if (negative) {
+                            throw error("Sign without a number", line, signColumn);
+                        }
+                        negative = false;
+                    } else if (b == '-' && !inNumber && !negative) {
+                        negative = true;
+                        signColumn = column;
+                    } else if (lineStart && (b == '#' || Character.isLetter(b))) {
+                        skipLine = true;
+                    } else {
+                        throw error("Unexpected character '" + (char) b + "'", line, column);
+                    }
+                    if (b != ' ' && b != '\t') lineStart = false;
+                }
+            }
+        }
+
+        if (inNumber) {
+            fields = ensureCapacity(fields, count);
+            count = addField(fields, count, negative ? -value : value);
+        } else if (negative) {
+            throw error("Sign without a number", line, signColumn);
+        } else if (separated) {
+            throw error("Empty field", line, column + 1);
+        }
+        if (count > 0) handler.row(fields, count, line);
+    }
+
+    private static IOException error(String what, long line, long column) {
+        return new IOException(what + " at line " + line + ", column " + column);
+    }
+
+    private static int addField(long[] fields, int count, long value) {
+        fields[count] = value;
+        return count + 1;
+    }
+
+    private static int toInt(long value, long line) throws IOException {
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) throw new IOException("Number out of range at line " + line);
+        return (int) value;
+    }
+
+    private static long[] ensureCapacity(long[] fields, int count) {
+        return count < fields.length ? fields : Arrays.copyOf(fields, fields.length * 2);
+    }
+
+    // growable int array for columns whose final length is not known up front
+    private static class IntColumn {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, values.length + (values.length >> 1));
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    // growable column of times, ints until a value needs 64 bits
+    private static class TimeColumnBuilder {
+        private TimeColumn values = new TimeColumn(1024);
+        private int size;
+
+        void add(long value) {
+            if (size == values.size()) values = values.copyOf(values.size() + (values.size() >> 1));
+            values.set(size++, value);
+        }
+
+        TimeColumn toColumn() {
+            return size == values.size() ? values : values.copyOf(size);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// What-if analysis on one workload: after a full run, changing one process only simulates again
+// the part of the schedule the change can affect.
+//
+// The run takes checkpoints of the loop state and of the processes in the system at that moment.
+// An update resumes from the last checkpoint before the changed process arrives, with the
+// timeline and the results of the processes that finished before it copied from the previous
+// run. It stops as soon as it reaches a checkpoint of the previous run in exactly the same state,
+// with the changed process admitted in both; from there the previous schedule is reused as it is.
+//
+// Heap policies only: their ready queue is rebuilt from the processes alone. Aging and MLFQ keep
+// more state per process.
+public class WhatIfSession {
+    // loop iterations between two checkpoints, at least; with many processes in the system the
+    // gap grows with them so that taking checkpoints never costs more than the run itself
+    private static final int MIN_CHECKPOINT_GAP = 1024;
+
+    private final HeapPolicy policy;
+    private final SwitchCost switchCost;
+
+    private Workload workload;
+    private int[] arrivals;
+    private ProcessTable table;
+    private ScheduleResult result;
+    private List<Checkpoint> checkpoints = new ArrayList<>();
+    private long lastResumeTime;
+    private long lastReuseTime = -1;
+
+    public WhatIfSession(HeapPolicy policy, SwitchCost switchCost) {
+        this.policy = policy;
+        this.switchCost = switchCost;
+    }
+
+    public String getName() {
+        if (switchCost.isFree()) return policy.getName();
+        return policy.getName() + " (" + switchCost + ")";
+    }
+
+    public synchronized Workload getWorkload() {
+        return workload;
+    }
+
+    public synchronized ScheduleResult getResult() {
+        return result;
+    }
+
+    // time the last update started to simulate from
+    public synchronized long getLastResumeTime() {
+        return lastResumeTime;
+    }
+
+    // time from which the last update reused the previous schedule, -1 if it simulated to the end
+    public synchronized long getLastReuseTime() {
+        return lastReuseTime;
+    }
+
+    public synchronized ScheduleResult simulate(Workload workload, SimulationMonitor monitor) {
+        int[] order = workload.getArrivalOrder();
+        List<Checkpoint> taken = new ArrayList<>();
+        PolicyEngine engine = new PolicyEngine(policy, switchCost, workload, new ProcessTable(workload), order, new Timeline());
+        engine.run(monitor, new Recorder(taken));
+
+        commit(workload, order, engine, taken, 0, -1);
+        return result;
+    }
+
+    // simulates again with process i changed, simulate must have run before
+    public synchronized ScheduleResult update(int i, long arrivalTime, int burstTime, int priority, SimulationMonitor monitor) {
+        if (result == null) throw new IllegalStateException("Nothing simulated yet");
+        Workload edited = workload.withProcess(i, arrivalTime, burstTime, priority);
+        long oldArrival = workload.getArrivalTime(i);
+        int[] order = oldArrival == arrivalTime ? arrivals : moveArrival(arrivals, edited, i);
+
+        // before the process arrives in either run both schedules are the same
+        int r = lastCheckpointAtOrBefore(Math.min(oldArrival, arrivalTime));
+        List<Checkpoint> taken = new ArrayList<>(checkpoints.subList(0, r + 1));
+        PolicyEngine engine;
+        if (r >= 0) {
+            engine = restore(checkpoints.get(r), edited, order);
+        } else {
+            engine = new PolicyEngine(policy, switchCost, edited, new ProcessTable(edited, table), order, new Timeline());
+        }
+
+        Merger merger = new Merger(taken, r + 1, i, Math.max(indexOf(arrivals, i), indexOf(order, i)));
+        boolean merged = engine.run(monitor, merger);
+        if (merged) merger.splice(engine);
+
+        commit(edited, order, engine, taken, r >= 0 ? checkpoints.get(r).time : 0, merged ? merger.mergeTime : -1);
+        return result;
+    }
+
+    private void commit(Workload workload, int[] order, PolicyEngine engine, List<Checkpoint> taken, long resumeTime, long reuseTime) {
+        this.workload = workload;
+        this.arrivals = order;
+        this.table = engine.table;
+        this.result = engine.result();
+        this.checkpoints = taken;
+        this.lastResumeTime = resumeTime;
+        this.lastReuseTime = reuseTime;
+    }
+
+    private int lastCheckpointAtOrBefore(long time) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints.get(mid).time <= time) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int indexOf(int[] order, int p) {
+        for (int k = 0; k < order.length; k++) {
+            if (order[k] == p) return k;
+        }
+        throw new IllegalArgumentException("Process " + p + " is not in the arrival order");
+    }
+
+    // arrival order with process i moved to its new place, ties keep their workload order
+    private static int[] moveArrival(int[] order, Workload workload, int i) {
+        int[] moved = new int[order.length];
+        int n = 0;
+        for (int p : order) {
+            if (p != i) moved[n++] = p;
+        }
+        int at = n;
+        int low = 0;
+        int high = n - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int p = moved[mid];
+            if (workload.getArrivalTime(p) > workload.getArrivalTime(i) || (workload.getArrivalTime(p) == workload.getArrivalTime(i) && p > i)) {
+                at = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        System.arraycopy(moved, at, moved, at + 1, n - at);
+        moved[at] = i;
+        return moved;
+    }
+
+    // engine for the edited workload in the state of cp; the processes that arrived before it are
+    // the same in both arrival orders
+    private PolicyEngine restore(Checkpoint cp, Workload edited, int[] order) {
+        // processes that arrive later are reset when they do
+        ProcessTable restored = new ProcessTable(edited, table);
+        for (int l = 0; l < cp.live.length; l++) {
+            int p = cp.live[l];
+            restored.remaining[p] = cp.remaining[l];
+            restored.completedTime.set(p, 0);
+            restored.firstRunTime.set(p, cp.firstRunTime[l]);
+            restored.longestWait.set(p, cp.longestWait[l]);
+            restored.readySince.set(p, cp.readySince[l]);
+        }
+
+        Timeline prefix = result.getTimeline().copyPrefix(cp.timelineSize, cp.lastEnd);
+        PolicyEngine engine = new PolicyEngine(policy, switchCost, edited, restored, order, prefix);
+        engine.currTime = cp.time;
+        engine.completedProcess = cp.nextArrival - cp.live.length;
+        engine.nextArrival = cp.nextArrival;
+        engine.currentPid = cp.currentPid;
+        engine.startBlock = cp.startBlock;
+        engine.running = cp.running;
+        engine.loaded = cp.loaded;
+        engine.dispatching = cp.dispatching;
+        engine.contextSwitches = cp.contextSwitches;
+        engine.overheadTime = cp.overheadTime;
+        for (int p : cp.live) {
+            if (p != cp.running) engine.readyQueue.add(p, cp.time);
+        }
+        return engine;
+    }
+
+    private static Checkpoint capture(PolicyEngine engine) {
+        Checkpoint cp = new Checkpoint();
+        cp.time = engine.currTime;
+        cp.nextArrival = engine.nextArrival;
+        cp.currentPid = engine.currentPid;
+        cp.startBlock = engine.startBlock;
+        cp.running = engine.running;
+        cp.loaded = engine.loaded;
+        cp.dispatching = engine.dispatching;
+        cp.contextSwitches = engine.contextSwitches;
+        cp.overheadTime = engine.overheadTime;
+
+        Timeline timeline = engine.ganttChart;
+        // policy timelines have no blocks of rounds, so their segments fit an int index
+        cp.timelineSize = Math.toIntExact(timeline.size());
+        cp.lastPid = cp.timelineSize > 0 ? timeline.getPid(cp.timelineSize - 1) : Integer.MIN_VALUE;
+        cp.lastEnd = cp.timelineSize > 0 ? timeline.getEndTime(cp.timelineSize - 1) : 0;
+
+        int[] queued = engine.readyQueue.toArray();
+        int[] live = queued;
+        if (engine.running >= 0) {
+            live = Arrays.copyOf(queued, queued.length + 1);
+            live[queued.length] = engine.running;
+        }
+        ProcessTable table = engine.table;
+        cp.live = live;
+        cp.remaining = new int[live.length];
+        cp.firstRunTime = new long[live.length];
+        cp.longestWait = new long[live.length];
+        cp.readySince = new long[live.length];
+        for (int l = 0; l < live.length; l++) {
+            int p = live[l];
+            cp.remaining[l] = table.remaining[p];
+            cp.firstRunTime[l] = table.firstRunTime.get(p);
+            cp.longestWait[l] = table.longestWait.get(p);
+            cp.readySince[l] = table.readySince.get(p);
+        }
+        return cp;
+    }
+
+    // state at the top of one loop iteration, before the arrivals at time are added; only the
+    // processes in the system (ready or running) are stored, the others have either not arrived
+    // or already finished
+    private static final class Checkpoint {
+        long time;
+        int nextArrival;
+        int currentPid;
+        long startBlock;
+        int running;
+        int loaded;
+        boolean dispatching;
+        long contextSwitches;
+        long overheadTime;
+        int timelineSize;
+        int lastPid;
+        long lastEnd;
+
+        int[] live;
+        int[] remaining;
+        long[] firstRunTime;
+        long[] longestWait;
+        long[] readySince;
+
+        // same checkpoint in a run whose timeline is shifted by segments and whose counters differ by the given amounts
+        Checkpoint shifted(int segments, long switches, long overhead) {
+            Checkpoint cp = new Checkpoint();
+            cp.time = time;
+            cp.nextArrival = nextArrival;
+            cp.currentPid = currentPid;
+            cp.startBlock = startBlock;
+            cp.running = running;
+            cp.loaded = loaded;
+            cp.dispatching = dispatching;
+            cp.contextSwitches = contextSwitches + switches;
+            cp.overheadTime = overheadTime + overhead;
+            cp.timelineSize = timelineSize + segments;
+            cp.lastPid = lastPid;
+            cp.lastEnd = lastEnd;
+            cp.live = live;
+            cp.remaining = remaining;
+            cp.firstRunTime = firstRunTime;
+            cp.longestWait = longestWait;
+            cp.readySince = readySince;
+            return cp;
+        }
+    }
+
+    private static class Recorder implements PolicyEngine.LoopListener {
+        final List<Checkpoint> taken;
+        int sinceLast;
+
+        Recorder(List<Checkpoint> taken) {
+            this.taken = taken;
+        }
+
+        @Override
+        public boolean atLoopTop(PolicyEngine engine) {
+            if (++sinceLast >= Math.max(MIN_CHECKPOINT_GAP, engine.nextArrival - engine.completedProcess)) {
+                taken.add(capture(engine));
+                sinceLast = 0;
+            }
+            return false;
+        }
+    }
+
+    // records the checkpoints of the new run and stops it at the first checkpoint of the previous
+    // run it matches
+    private class Merger extends Recorder {
+        final int edited;
+        // both runs have admitted the edited process once nextArrival is past this position; the
+        // clock alone does not tell, a non-preemptive run or a switch can step past its arrival
+        final int admittedAfter;
+        int next;
+        Checkpoint match;
+        long mergeTime = -1;
+
+        Merger(List<Checkpoint> taken, int next, int edited, int admittedAfter) {
+            super(taken);
+            this.next = next;
+            this.edited = edited;
+            this.admittedAfter = admittedAfter;
+        }
+
+        @Override
+        public boolean atLoopTop(PolicyEngine engine) {
+            long now = engine.currTime;
+            while (next < checkpoints.size() && checkpoints.get(next).time < now) next++;
+            if (next < checkpoints.size() && engine.nextArrival > admittedAfter) {
+                Checkpoint cp = checkpoints.get(next);
+                if (cp.time == now && sameState(engine, cp)) {
+                    match = cp;
+                    mergeTime = now;
+                    return true;
+                }
+            }
+            return super.atLoopTop(engine);
+        }
+
+        private boolean sameState(PolicyEngine engine, Checkpoint cp) {
+            if (engine.nextArrival != cp.nextArrival || engine.nextArrival - engine.completedProcess != cp.live.length
+                    || engine.running != cp.running || engine.loaded != cp.loaded || engine.dispatching != cp.dispatching
+                    || engine.currentPid != cp.currentPid || engine.startBlock != cp.startBlock) {
+                return false;
+            }
+            Timeline timeline = engine.ganttChart;
+            int size = Math.toIntExact(timeline.size());
+            if ((size == 0) != (cp.timelineSize == 0)) return false;
+            if (size > 0 && (timeline.getPid(size - 1) != cp.lastPid || timeline.getEndTime(size - 1) != cp.lastEnd)) return false;
+
+            // same number of processes in the system, so the same set if every one of cp is
+            ProcessTable t = engine.table;
+            for (int l = 0; l < cp.live.length; l++) {
+                int p = cp.live[l];
+                if (t.remaining[p] != cp.remaining[l] || t.firstRunTime.get(p) != cp.firstRunTime[l]
+                        || t.longestWait.get(p) != cp.longestWait[l] || t.readySince.get(p) != cp.readySince[l]) {
+                    return false;
+                }
+                // the previous run went on with the old values of the edited process
+                if (p == edited && (engine.workload.getArrivalTime(p) != workload.getArrivalTime(p)
+                        || engine.workload.getBurstTime(p) != workload.getBurstTime(p) || engine.workload.getPriority(p) != workload.getPriority(p))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // completes the stopped run with the rest of the previous one
+        void splice(PolicyEngine engine) {
+            Timeline timeline = engine.ganttChart;
+            Timeline previous = result.getTimeline();
+            int segments = Math.toIntExact(timeline.size()) - match.timelineSize;
+            // the last segment may have been extended after the checkpoint
+            if (match.timelineSize > 0) timeline.setLastEnd(previous.getEndTime(match.timelineSize - 1));
+            timeline.appendFrom(previous, match.timelineSize);
+
+            // the processes that have not arrived yet still hold the previous results, see restore
+            ProcessTable t = engine.table;
+            for (int p : match.live) {
+                t.remaining[p] = 0;
+                t.completedTime.set(p, table.completedTime.get(p));
+                t.firstRunTime.set(p, table.firstRunTime.get(p));
+                t.longestWait.set(p, table.longestWait.get(p));
+            }
+
+            long switches = engine.contextSwitches - match.contextSwitches;
+            long overhead = engine.overheadTime - match.overheadTime;
+            engine.contextSwitches = result.getContextSwitches() + switches;
+            engine.overheadTime = result.getOverheadTime() + overhead;
+            engine.completedProcess = t.size();
+            for (int k = next; k < checkpoints.size(); k++) {
+                taken.add(checkpoints.get(k).shifted(segments, switches, overhead));
+            }
+        }
+    }
+}
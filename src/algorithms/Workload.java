@@ -0,0 +1,173 @@
+package algorithms;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+// Immutable list of processes that the schedulers run on.
+// Index i is the same process in every column.
+public class Workload {
+    private final int[] pid;
+    // ints unless an arrival needs 64 bits
+    private final TimeColumn arrivalTime;
+    private final int[] burstTime;
+    private final int[] priority;
+    // SHA-256 of the columns, computed on first use
+    private volatile byte[] fingerprint;
+
+    public Workload(int[] pid, int[] arrivalTime, int[] burstTime, int[] priority) {
+        this(pid.clone(), new TimeColumn(arrivalTime.clone()), burstTime.clone(), priority.clone());
+    }
+
+    // arrivals in 64 bits, e.g. microseconds of a trace spanning days
+    public Workload(int[] pid, long[] arrivalTime, int[] burstTime, int[] priority) {
+        this(pid.clone(), new TimeColumn(arrivalTime.clone()), burstTime.clone(), priority.clone());
+    }
+
+    private Workload(int[] pid, TimeColumn arrivalTime, int[] burstTime, int[] priority) {
+        if (arrivalTime.size() != pid.length || burstTime.length != pid.length || priority.length != pid.length) {
+            throw new IllegalArgumentException("All process columns must have the same length");
+        }
+        for (int i = 0; i < pid.length; i++) {
+            if (arrivalTime.get(i) < 0) throw new IllegalArgumentException("Arrival time of P" + pid[i] + " must not be negative");
+            if (burstTime[i] < 1) throw new IllegalArgumentException("Burst time of P" + pid[i] + " must be at least 1");
+        }
+        this.pid = pid;
+        this.arrivalTime = arrivalTime;
+        this.burstTime = burstTime;
+        this.priority = priority;
+    }
+
+    // takes ownership of the arrays instead of copying them, for loaders that build large columns
+    static Workload wrap(int[] pid, int[] arrivalTime, int[] burstTime, int[] priority) {
+        return new Workload(pid, new TimeColumn(arrivalTime), burstTime, priority);
+    }
+
+    static Workload wrap(int[] pid, long[] arrivalTime, int[] burstTime, int[] priority) {
+        return new Workload(pid, new TimeColumn(arrivalTime), burstTime, priority);
+    }
+
+    static Workload wrap(int[] pid, TimeColumn arrivalTime, int[] burstTime, int[] priority) {
+        return new Workload(pid, arrivalTime, burstTime, priority);
+    }
+
+    public int size() {
+        return pid.length;
+    }
+
+    // whether some arrival needs 64 bits
+    public boolean isWide() {
+        return arrivalTime.isWide();
+    }
+
+    public int getPid(int i) {
+        return pid[i];
+    }
+
+    public long getArrivalTime(int i) {
+        return arrivalTime.get(i);
+    }
+
+    public int getBurstTime(int i) {
+        return burstTime[i];
+    }
+
+    public int getPriority(int i) {
+        return priority[i];
+    }
+
+    // SHA-256 over the size and every process, arrivals as longs so a narrow and a wide column
+    // with the same values match; equal workloads have equal fingerprints
+    byte[] fingerprint() {
+        byte[] digest = fingerprint;
+        if (digest != null) return digest;
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        // 20 bytes per process, hashed in batches of 4096
+        ByteBuffer buffer = ByteBuffer.allocate(20 << 12);
+        buffer.putInt(pid.length);
+        for (int i = 0; i < pid.length; i++) {
+            if (buffer.remaining() < 20) {
+                sha.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putInt(pid[i]).putLong(arrivalTime.get(i)).putInt(burstTime[i]).putInt(priority[i]);
+        }
+        sha.update(buffer.array(), 0, buffer.position());
+        digest = sha.digest();
+        fingerprint = digest;
+        return digest;
+    }
+
+    // rough heap footprint, for ResultCache
+    long estimateBytes() {
+        return 64 + 12L * pid.length + arrivalTime.estimateBytes();
+    }
+
+    // copy with process i changed, the unchanged columns are shared since neither copy modifies them
+    public Workload withProcess(int i, long arrivalTime, int burstTime, int priority) {
+        TimeColumn arrivals = this.arrivalTime;
+        int[] bursts = this.burstTime;
+        int[] priorities = this.priority;
+        if (arrivals.get(i) != arrivalTime) {
+            if (arrivalTime < 0) throw new IllegalArgumentException("Arrival time of P" + pid[i] + " must not be negative");
+            arrivals = arrivals.copy();
+            arrivals.set(i, arrivalTime);
+        }
+        if (bursts[i] != burstTime) {
+            if (burstTime < 1) throw new IllegalArgumentException("Burst time of P" + pid[i] + " must be at least 1");
+            bursts = bursts.clone();
+            bursts[i] = burstTime;
+        }
+        if (priorities[i] != priority) {
+            priorities = priorities.clone();
+            priorities[i] = priority;
+        }
+        return new Workload(pid, arrivals, bursts, priorities);
+    }
+
+    // process indices sorted by arrival time, ties keep their workload order
+    public int[] getArrivalOrder() {
+        if (arrivalTime.isWide()) return wideArrivalOrder();
+        long[] keys = new long[pid.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (arrivalTime.get(i) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    // the arrivals do not fit next to the index in one long, so a stable merge sort of the indices
+    private int[] wideArrivalOrder() {
+        int n = pid.length;
+        int[] order = new int[n];
+        int[] buffer = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int width = 1; width < n; width *= 2) {
+            for (int from = 0; from < n; from += 2 * width) {
+                int mid = Math.min(from + width, n);
+                int to = Math.min(from + 2 * width, n);
+                int a = from;
+                int b = mid;
+                for (int k = from; k < to; k++) {
+                    if (b >= to || (a < mid && arrivalTime.get(order[a]) <= arrivalTime.get(order[b]))) buffer[k] = order[a++];
+                    else buffer[k] = order[b++];
+                }
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,50 @@
+package algorithms;
+
+public class WorkloadArrivalStream implements ArrivalStream {
+    private final Workload workload;
+    private final int[] order;
+    private int position = -1;
+    private int current;
+
+    public WorkloadArrivalStream(Workload workload) {
+        this.workload = workload;
+        this.order = workload.getArrivalOrder();
+    }
+
+    @Override
+    public boolean next() {
+        if (position + 1 >= order.length) return false;
+        current = order[++position];
+        return true;
+    }
+
+    // index of the current process in the workload
+    int getIndex() {
+        return current;
+    }
+
+    @Override
+    public long getCount() {
+        return order.length;
+    }
+
+    @Override
+    public int getPid() {
+        return workload.getPid(current);
+    }
+
+    @Override
+    public long getArrivalTime() {
+        return workload.getArrivalTime(current);
+    }
+
+    @Override
+    public int getBurstTime() {
+        return workload.getBurstTime(current);
+    }
+
+    @Override
+    public int getPriority() {
+        return workload.getPriority(current);
+    }
+}
@@ -0,0 +1,369 @@
+package algorithms;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Synthetic workloads from a seed. The processes are generated in chunks of CHUNK_SIZE, each with
+// its own SplittableRandom seeded from the seed and the chunk number only, so the same seed gives
+// the same workload whether it is generated on one thread, on many, or streamed.
+//
+// The arrival times are running sums of the gaps: every chunk first sums its own gaps, then the
+// chunk offsets are added in a second parallel pass. Only when the last arrival does not fit in an
+// int does the second pass write a column of longs, generating again in 64 bits the chunks whose
+// own running sum overflowed an int.
+public class WorkloadGenerator {
+    static final int CHUNK_SIZE = 1 << 16;
+
+    // a bursty phase has gaps this many times shorter than the mean
+    private static final double BURST_FACTOR = 10;
+    // average number of arrivals before a bursty source changes phase
+    private static final double MEAN_PHASE_LENGTH = 100;
+    private static final double PARETO_ALPHA = 1.5;
+    // share of the short requests of the bimodal distribution and their share of the mean
+    private static final double BIMODAL_SHORT_SHARE = 0.9;
+    private static final double BIMODAL_SHORT_MEAN = 0.5;
+    // keeps a Pareto tail from producing times that overflow the sums
+    private static final int MAX_SAMPLE = 1 << 24;
+
+    public enum ArrivalProcess {
+        POISSON("Poisson"),
+        // a two-phase Markov-modulated Poisson process, quiet and bursty
+        BURSTY("Bursty (MMPP)"),
+        // repeats the gaps between the arrivals of a trace
+        REPLAY("Trace replay");
+
+        private final String label;
+
+        ArrivalProcess(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    public enum Distribution {
+        UNIFORM("Uniform"),
+        EXPONENTIAL("Exponential"),
+        PARETO("Pareto"),
+        // mostly short values with a few long ones, 90% at half the mean
+        BIMODAL("Bimodal");
+
+        private final String label;
+
+        Distribution(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final long seed;
+    private final ArrivalProcess arrivals;
+    private final double meanInterArrival;
+    // gaps of the replayed trace, null unless arrivals is REPLAY
+    private final int[] replayGaps;
+    private final int maxPriority;
+    // geometric scales of the gaps, worked out once instead of per process
+    private final double gapScale;
+    private final double quietGapScale;
+    private final double burstyGapScale;
+    private final Sampler bursts;
+    private final Sampler priorities;
+
+    public WorkloadGenerator(long seed, ArrivalProcess arrivals, double meanInterArrival, Distribution bursts, double meanBurst,
+                             Distribution priorities, int maxPriority) {
+        this(seed, arrivals, meanInterArrival, null, bursts, meanBurst, priorities, maxPriority);
+        if (arrivals == ArrivalProcess.REPLAY) throw new IllegalArgumentException("Trace replay needs a trace to replay");
+    }
+
+    // arrivals replaying the gaps of trace, over and over when more processes are generated
+    public WorkloadGenerator(long seed, Workload trace, Distribution bursts, double meanBurst, Distribution priorities, int maxPriority) {
+        this(seed, ArrivalProcess.REPLAY, 0, gapsOf(trace), bursts, meanBurst, priorities, maxPriority);
+    }
+
+    private WorkloadGenerator(long seed, ArrivalProcess arrivals, double meanInterArrival, int[] replayGaps, Distribution bursts,
+                              double meanBurst, Distribution priorities, int maxPriority) {
+        if (meanInterArrival < 0) throw new IllegalArgumentException("Mean inter-arrival time must not be negative");
+        if (meanBurst < 1) throw new IllegalArgumentException("Mean burst time must be at least 1");
+        if (maxPriority < 1) throw new IllegalArgumentException("Highest priority number must be at least 1");
+        this.seed = seed;
+        this.arrivals = arrivals;
+        this.meanInterArrival = meanInterArrival;
+        this.replayGaps = replayGaps;
+        this.maxPriority = maxPriority;
+        this.gapScale = geometricScale(meanInterArrival);
+        this.quietGapScale = geometricScale(meanInterArrival * (2 - 1 / BURST_FACTOR));
+        this.burstyGapScale = geometricScale(meanInterArrival / BURST_FACTOR);
+        this.bursts = new Sampler(bursts, meanBurst);
+        this.priorities = new Sampler(priorities, (maxPriority + 1) / 2.0);
+    }
+
+    private static int[] gapsOf(Workload trace) {
+        if (trace.size() == 0) throw new IllegalArgumentException("The trace to replay has no processes");
+        int[] order = trace.getArrivalOrder();
+        int[] gaps = new int[order.length];
+        long previous = 0;
+        for (int i = 0; i < order.length; i++) {
+            long arrival = trace.getArrivalTime(order[i]);
+            if (arrival - previous > Integer.MAX_VALUE) throw new IllegalArgumentException("The trace to replay has a gap longer than " + Integer.MAX_VALUE);
+            gaps[i] = (int) (arrival - previous);
+            previous = arrival;
+        }
+        return gaps;
+    }
+
+    public Workload generate(int count) {
+        return generate(count, ForkJoinPool.commonPool());
+    }
+
+    public Workload generate(int count, ForkJoinPool pool) {
+        if (count < 0) throw new IllegalArgumentException("Number of processes must not be negative");
+        int[] pid = new int[count];
+        int[] arrivalTime = new int[count];
+        int[] burstTime = new int[count];
+        int[] priority = new int[count];
+        int chunks = (int) ((count + (long) CHUNK_SIZE - 1) / CHUNK_SIZE);
+        long[] chunkEnd = new long[chunks];
+
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = (int) Math.min(count, (long) from + CHUNK_SIZE);
+            chunkEnd[chunk] = fill(chunk, from, to - from, pid, arrivalTime, null, burstTime, priority);
+        }));
+
+        // chunkStart is the time every chunk starts at
+        long[] chunkStart = new long[chunks];
+        long offset = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkStart[chunk] = offset;
+            offset += chunkEnd[chunk];
+        }
+
+        if (offset > Integer.MAX_VALUE) {
+            long[] wideArrivalTime = new long[count];
+            pool.invoke(new ChunkTask(0, chunks, chunk -> {
+                int from = chunk * CHUNK_SIZE;
+                int to = (int) Math.min(count, (long) from + CHUNK_SIZE);
+                long chunkOffset = chunkStart[chunk];
+                if (chunkEnd[chunk] > Integer.MAX_VALUE) {
+                    // the int times of this chunk wrapped around, the same seed gives the same chunk
+                    fill(chunk, from, to - from, pid, null, wideArrivalTime, burstTime, priority);
+                    for (int i = from; i < to; i++) wideArrivalTime[i] += chunkOffset;
+                } else {
+                    for (int i = from; i < to; i++) wideArrivalTime[i] = chunkOffset + arrivalTime[i];
+                }
+            }));
+            return Workload.wrap(pid, wideArrivalTime, burstTime, priority);
+        }
+
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = (int) Math.min(count, (long) from + CHUNK_SIZE);
+            int chunkOffset = (int) chunkStart[chunk];
+            for (int i = from; i < to; i++) arrivalTime[i] += chunkOffset;
+        }));
+        return Workload.wrap(pid, arrivalTime, burstTime, priority);
+    }
+
+    // the same processes as generate, one chunk in memory at a time instead of the whole columns,
+    // e.g. for RRScheduler.simulate(ArrivalStream, ScheduleSink, SimulationMonitor)
+    public ArrivalStream stream(int count) {
+        if (count < 0) throw new IllegalArgumentException("Number of processes must not be negative");
+        return new GeneratedStream(count);
+    }
+
+    // fills positions [from, from + length) of the columns with chunk, the arrival times relative
+    // to the start of the chunk into arrivalTime or, when it is null, wideArrivalTime; returns the
+    // arrival time of its last process, more than Integer.MAX_VALUE if the int times wrapped around
+    private long fill(long chunk, int from, int length, int[] pid, int[] arrivalTime, long[] wideArrivalTime, int[] burstTime, int[] priority) {
+        SplittableRandom random = new SplittableRandom(chunkSeed(chunk));
+        long first = chunk * CHUNK_SIZE;
+        long time = 0;
+        // every chunk starts in a random phase, both being equally likely in the long run
+        boolean bursty = arrivals == ArrivalProcess.BURSTY && random.nextBoolean();
+
+        for (int k = 0; k < length; k++) {
+            long index = first + k;
+            switch (arrivals) {
+                case POISSON:
+                    time += geometric(random, gapScale);
+                    break;
+                case BURSTY:
+                    time += geometric(random, bursty ? burstyGapScale : quietGapScale);
+                    if (random.nextDouble() * MEAN_PHASE_LENGTH < 1) bursty = !bursty;
+                    break;
+                case REPLAY:
+                    time += replayGaps[(int) (index % replayGaps.length)];
+                    break;
+            }
+            int i = from + k;
+            pid[i] = (int) (index + 1);
+            if (arrivalTime != null) arrivalTime[i] = (int) time;
+            else wideArrivalTime[i] = time;
+            burstTime[i] = bursts.next(random);
+            priority[i] = Math.min(maxPriority, priorities.next(random));
+        }
+        return time;
+    }
+
+    private long chunkSeed(long chunk) {
+        return mix(seed + mix(chunk + 1));
+    }
+
+    // the finalizer of MurmurHash3, spreads nearby chunk numbers over unrelated seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    // whole-number gaps of a Poisson process with the given mean are the floors of exponential
+    // values with this scale, chosen so that the mean of the floors comes out exactly
+    private static double geometricScale(double mean) {
+        return mean <= 0 ? 0 : 1 / Math.log1p(1 / mean);
+    }
+
+    private static long geometric(SplittableRandom random, double scale) {
+        if (scale == 0) return 0;
+        return (long) Math.min(-Math.log(1 - random.nextDouble()) * scale, MAX_SAMPLE);
+    }
+
+    // values of at least 1 with about the given mean
+    private static final class Sampler {
+        private final Distribution distribution;
+        private final double mean;
+        private final double scale;
+        // bimodal only, the long values
+        private final double longScale;
+
+        Sampler(Distribution distribution, double mean) {
+            this.distribution = distribution;
+            this.mean = mean;
+            switch (distribution) {
+                case EXPONENTIAL:
+                    scale = geometricScale(mean - 1);
+                    longScale = 0;
+                    break;
+                case PARETO:
+                    scale = mean * (PARETO_ALPHA - 1) / PARETO_ALPHA;
+                    longScale = 0;
+                    break;
+                case BIMODAL: {
+                    double shortMean = mean * BIMODAL_SHORT_MEAN;
+                    double longMean = (mean - BIMODAL_SHORT_SHARE * shortMean) / (1 - BIMODAL_SHORT_SHARE);
+                    scale = geometricScale(shortMean - 1);
+                    longScale = geometricScale(longMean - 1);
+                    break;
+                }
+                default:
+                    scale = 0;
+                    longScale = 0;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            switch (distribution) {
+                case UNIFORM:
+                    return 1 + (int) (random.nextDouble() * (2 * mean - 1));
+                case EXPONENTIAL:
+                    return 1 + (int) geometric(random, scale);
+                case PARETO: {
+                    double value = scale / Math.pow(1 - random.nextDouble(), 1 / PARETO_ALPHA);
+                    return (int) Math.max(1, Math.min(value, MAX_SAMPLE));
+                }
+                default:
+                    return 1 + (int) geometric(random, random.nextDouble() < BIMODAL_SHORT_SHARE ? scale : longScale);
+            }
+        }
+    }
+
+    private interface ChunkAction {
+        void run(int chunk);
+    }
+
+    // runs action on the chunks [from, to), splitting the range down to single chunks
+    private static class ChunkTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final ChunkAction action;
+
+        ChunkTask(int from, int to, ChunkAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) action.run(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, action), new ChunkTask(mid, to, action));
+        }
+    }
+
+    private class GeneratedStream implements ArrivalStream {
+        private final int count;
+        private final int[] pid = new int[CHUNK_SIZE];
+        private final long[] arrivalTime = new long[CHUNK_SIZE];
+        private final int[] burstTime = new int[CHUNK_SIZE];
+        private final int[] priority = new int[CHUNK_SIZE];
+        private long chunk = -1;
+        private long offset;
+        private int length;
+        private int position;
+        private int generated;
+
+        GeneratedStream(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public boolean next() {
+            if (generated == count) return false;
+            if (++position >= length) {
+                if (chunk >= 0) offset += arrivalTime[length - 1];
+                chunk++;
+                length = Math.min(CHUNK_SIZE, count - generated);
+                fill(chunk, 0, length, pid, null, arrivalTime, burstTime, priority);
+                position = 0;
+            }
+            generated++;
+            return true;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public int getPid() {
+            return pid[position];
+        }
+
+        @Override
+        public long getArrivalTime() {
+            return offset + arrivalTime[position];
+        }
+
+        @Override
+        public int getBurstTime() {
+            return burstTime[position];
+        }
+
+        @Override
+        public int getPriority() {
+            return priority[position];
+        }
+    }
+}